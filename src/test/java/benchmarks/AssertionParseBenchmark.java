@@ -0,0 +1,96 @@
+package benchmarks;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import lib.Assertions;
+import lib.Responses;
+import lib.UserApiStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssertionParseBenchmark {
+    private static final String[] USER_FIELDS = {"username", "firstName", "lastName", "email"};
+
+    private byte[] userBody;
+    private byte[] loginBody;
+
+    @Setup(Level.Trial)
+    public void fetchResponses() throws IOException {
+        UserApiStub stub = new UserApiStub().start(0);
+        try {
+            Response loginResponse = RestAssured
+                    .given()
+                    .body(Map.of("email", "vinkotov@example.com", "password", "1234"))
+                    .post(stub.getBaseUrl() + "/api/user/login")
+                    .andReturn();
+            Response userResponse = RestAssured
+                    .given()
+                    .header("x-csrf-token", loginResponse.getHeader("x-csrf-token"))
+                    .cookie("auth_sid", loginResponse.getCookie("auth_sid"))
+                    .get(stub.getBaseUrl() + "/api/user/2")
+                    .andReturn();
+            loginBody = loginResponse.asByteArray();
+            userBody = userResponse.asByteArray();
+        } finally {
+            stub.stop();
+        }
+    }
+
+    @Benchmark
+    public Response buildResponse() {
+        return response(userBody);
+    }
+
+    @Benchmark
+    public void asserJsonByName() {
+        Assertions.asserJsonByName(response(loginBody), "user_id", 2);
+    }
+
+    @Benchmark
+    public int getIntFromJson() {
+        return Responses.getIntFromJson(response(loginBody), "user_id");
+    }
+
+    @Benchmark
+    public void assertJsonHasField() {
+        Assertions.assertJsonHasField(response(userBody), "username");
+    }
+
+    @Benchmark
+    public void assertJsonHasFields() {
+        Assertions.assertJsonHasFields(response(userBody), USER_FIELDS);
+    }
+
+    @Benchmark
+    public void assertJsonHasNotField() {
+        Assertions.assertJsonHasNotField(response(userBody), "password");
+    }
+
+    private static Response response(byte[] body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+}
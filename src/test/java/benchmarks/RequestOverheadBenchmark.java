@@ -0,0 +1,86 @@
+package benchmarks;
+
+import io.restassured.response.Response;
+import lib.ApiConfig;
+import lib.ApiCoreRequests;
+import lib.UserApiStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestOverheadBenchmark {
+    private final ApiCoreRequests apiCoreRequests = new ApiCoreRequests();
+    private final Map<String, String> authData = Map.of("email", "vinkotov@example.com", "password", "1234");
+
+    private UserApiStub stub;
+    private HttpClient httpClient;
+    private HttpRequest rawGetUser;
+    private String userUrl;
+    private String loginUrl;
+    private String authUrl;
+    private String token;
+    private String cookie;
+
+    @Setup(Level.Trial)
+    public void startStub() throws IOException {
+        ApiConfig.configure();
+        stub = new UserApiStub().start(0);
+        userUrl = stub.getBaseUrl() + "/api/user/2";
+        loginUrl = stub.getBaseUrl() + "/api/user/login";
+        authUrl = stub.getBaseUrl() + "/api/user/auth";
+        httpClient = HttpClient.newHttpClient();
+        rawGetUser = HttpRequest.newBuilder(URI.create(userUrl)).GET().build();
+
+        Response responseGetAuth = apiCoreRequests.makePostRequest(loginUrl, authData);
+        token = responseGetAuth.getHeader("x-csrf-token");
+        cookie = responseGetAuth.getCookie("auth_sid");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStub() {
+        stub.stop();
+    }
+
+    @Benchmark
+    public String baselineJdkGet() throws IOException, InterruptedException {
+        return httpClient.send(rawGetUser, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public Response makeGetRequest() {
+        return apiCoreRequests.makeGetRequest(userUrl, token, cookie);
+    }
+
+    @Benchmark
+    public Response makeGetRequestWithCookie() {
+        return apiCoreRequests.makeGetRequestWithCookie(authUrl, cookie);
+    }
+
+    @Benchmark
+    public Response makePostRequest() {
+        return apiCoreRequests.makePostRequest(loginUrl, authData);
+    }
+}
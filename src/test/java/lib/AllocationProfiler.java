@@ -0,0 +1,167 @@
+package lib;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class AllocationProfiler implements BeforeEachCallback, AfterEachCallback {
+    public static final boolean ENABLED = Boolean.getBoolean("learnqa.profile.allocations");
+    public static final Filter FILTER = new CountingFilter();
+
+    private static final long MAX_ALLOCATED_BYTES = Long.getLong("learnqa.profile.maxAllocatedBytes", 0);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(AllocationProfiler.class);
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+    private static final Set<String> MATERIALISING = Set.of(
+            "asString", "asByteArray", "asInputStream", "asPrettyString", "prettyPrint", "print",
+            "prettyPeek", "peek", "jsonPath", "xmlPath", "htmlPath", "path", "as", "getBody", "body");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!ENABLED) {
+            return;
+        }
+        Usage usage = new Usage(context.getDisplayName(), context.getUniqueId());
+        CURRENT.set(usage);
+        usage.allocatedBytes = -THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Usage usage = CURRENT.get();
+        if (usage == null) {
+            return;
+        }
+        usage.allocatedBytes += THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        CURRENT.remove();
+
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Report.class, key -> new Report(), Report.class)
+                .usages.add(usage);
+        if (MAX_ALLOCATED_BYTES > 0 && usage.allocatedBytes > MAX_ALLOCATED_BYTES) {
+            throw new AssertionError("Test allocated " + usage.allocatedBytes + " bytes, budget is "
+                    + MAX_ALLOCATED_BYTES + " (learnqa.profile.maxAllocatedBytes)");
+        }
+    }
+
+    static <T> Supplier<T> propagate(Supplier<T> task) {
+        Usage usage = CURRENT.get();
+        if (usage == null) {
+            return task;
+        }
+        return () -> {
+            Usage previous = CURRENT.get();
+            CURRENT.set(usage);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    private static final class Usage {
+        private final String name;
+        private final String uniqueId;
+        private final LongAdder receivedBytes = new LongAdder();
+        private final LongAdder materialisations = new LongAdder();
+        private long allocatedBytes;
+
+        private Usage(String name, String uniqueId) {
+            this.name = name;
+            this.uniqueId = uniqueId;
+        }
+    }
+
+    private static final class Report implements ExtensionContext.Store.CloseableResource {
+        private final ConcurrentLinkedQueue<Usage> usages = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void close() {
+            List<Usage> ranked = new ArrayList<>(usages);
+            ranked.sort(Comparator.comparingLong((Usage usage) -> usage.allocatedBytes).reversed());
+
+            StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%14s %12s %8s  %s%n",
+                    "allocated", "received", "bodies", "test"));
+            for (Usage usage : ranked) {
+                text.append(String.format(Locale.ROOT, "%14d %12d %8d  %s [%s]%n",
+                        usage.allocatedBytes, usage.receivedBytes.sum(), usage.materialisations.sum(),
+                        usage.name.replaceAll("\\s+", " "), usage.uniqueId));
+            }
+
+            Path directory = Paths.get(System.getProperty("learnqa.metrics.dir", "target/metrics"));
+            try {
+                Files.createDirectories(directory);
+                Files.write(directory.resolve("allocations.txt"), text.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write allocation report to " + directory, e);
+            }
+        }
+    }
+
+    private static final class CountingFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            Usage usage = CURRENT.get();
+            if (usage == null) {
+                return response;
+            }
+
+            String contentLength = response.getHeader("Content-Length");
+            usage.receivedBytes.add(contentLength != null
+                    ? Long.parseLong(contentLength)
+                    : response.asByteArray().length);
+
+            return (Response) Proxy.newProxyInstance(Response.class.getClassLoader(), new Class<?>[] {Response.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                if (MATERIALISING.contains(method.getName())) {
+                                    usage.materialisations.increment();
+                                }
+                                try {
+                                    Object result = method.invoke(response, args);
+                                    return result == response ? proxy : result;
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package lib;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class AllureAttachmentWriter {
+    private static final AllureAttachmentWriter INSTANCE = new AllureAttachmentWriter(
+            Paths.get(System.getProperty("allure.results.directory", "allure-results")),
+            Integer.getInteger("learnqa.allure.queueSize", 1024),
+            Integer.getInteger("learnqa.allure.batchSize", 64));
+
+    private final Path directory;
+    private final BlockingQueue<Attachment> queue;
+    private final int batchSize;
+    private final AtomicInteger unwritten = new AtomicInteger();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Object drained = new Object();
+
+    public AllureAttachmentWriter(Path directory, int queueSize, int batchSize) {
+        this.directory = directory;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+
+        Thread thread = new Thread(this::drain, "allure-attachment-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+    }
+
+    public static AllureAttachmentWriter getInstance() {
+        return INSTANCE;
+    }
+
+    public void submit(String source, Supplier<byte[]> content) {
+        unwritten.incrementAndGet();
+        try {
+            queue.put(new Attachment(source, content));
+        } catch (InterruptedException e) {
+            unwritten.decrementAndGet();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void flush() {
+        synchronized (drained) {
+            while (unwritten.get() > 0) {
+                try {
+                    drained.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    private void drain() {
+        List<Attachment> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                Attachment first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                Files.createDirectories(directory);
+                for (Attachment attachment : batch) {
+                    write(attachment);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                failed.add(batch.size());
+            } finally {
+                if (!batch.isEmpty()) {
+                    unwritten.addAndGet(-batch.size());
+                    batch.clear();
+                    synchronized (drained) {
+                        drained.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(Attachment attachment) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(attachment.source),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(attachment.content.get());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            written.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+        }
+    }
+
+    private static final class Attachment {
+        private final String source;
+        private final Supplier<byte[]> content;
+
+        private Attachment(String source, Supplier<byte[]> content) {
+            this.source = source;
+            this.content = content;
+        }
+    }
+}
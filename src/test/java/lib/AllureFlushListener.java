@@ -0,0 +1,13 @@
+package lib;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+public class AllureFlushListener implements TestExecutionListener {
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (System.getProperty("learnqa.allure.mode", "sync").equals("async")) {
+            AllureAttachmentWriter.getInstance().flush();
+        }
+    }
+}
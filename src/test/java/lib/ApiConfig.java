@@ -0,0 +1,94 @@
+package lib;
+
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpConnectionParams;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ApiConfig {
+    public static final String BASE_URL = resolveBaseUrl(System.getProperty("learnqa.baseUrl", "https://playground.learnqa.ru"));
+    public static final String USER_URL = BASE_URL + "/api/user/";
+    public static final String LOGIN_URL = USER_URL + "login";
+    public static final String AUTH_URL = USER_URL + "auth";
+
+    private static final AtomicBoolean CONFIGURED = new AtomicBoolean();
+
+    public static final RequestSpecification SPEC = new RequestSpecBuilder()
+            .setBaseUri(BASE_URL)
+            .addFilters(allureFilters(System.getProperty("learnqa.allure.mode", "sync")))
+            .addFilter(RequestTimings.SEND_FILTER)
+            .build();
+
+    public static void configure() {
+        if (!CONFIGURED.compareAndSet(false, true)) {
+            return;
+        }
+        HttpClient httpClient = createHttpClient(
+                Integer.getInteger("learnqa.http.maxConnections", 200),
+                Integer.getInteger("learnqa.http.maxConnectionsPerRoute", 50));
+        RestAssured.config = RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient));
+        RestAssured.filters(RequestTimings.FILTER);
+        if (AllocationProfiler.ENABLED) {
+            RestAssured.filters(AllocationProfiler.FILTER);
+        }
+        HttpCassette cassette = HttpCassette.fromSystemProperties();
+        if (cassette != null) {
+            RestAssured.filters(cassette);
+        }
+        RequestTimings.exportOnShutdown();
+    }
+
+    private static List<Filter> allureFilters(String mode) {
+        switch (mode) {
+            case "off":
+                return List.of();
+            case "async":
+                return List.of(new AsyncAllureRestAssured());
+            default:
+                return List.of(new AllureRestAssured());
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static HttpClient createHttpClient(int maxConnections, int maxConnectionsPerRoute) {
+        PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager(
+                RequestTimings.timedSchemeRegistry(), RequestTimings.DNS_RESOLVER);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+        HttpConnectionParams.setConnectionTimeout(httpClient.getParams(), Integer.getInteger("learnqa.http.connectTimeout", 10000));
+        HttpConnectionParams.setSoTimeout(httpClient.getParams(), Integer.getInteger("learnqa.http.readTimeout", 30000));
+        httpClient.addRequestInterceptor(RequestPolicies.READ_TIMEOUT);
+        httpClient.addRequestInterceptor(RequestTimings.REQUEST_SENT);
+        httpClient.addResponseInterceptor(RequestTimings.RESPONSE_RECEIVED);
+        return httpClient;
+    }
+
+    private static String resolveBaseUrl(String baseUrl) {
+        if (!baseUrl.equals("stub")) {
+            return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        }
+
+        try {
+            UserApiStub stub = new UserApiStub().start(Integer.getInteger("learnqa.stub.port", 0));
+            Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+            return stub.getBaseUrl();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start user API stub", e);
+        }
+    }
+}
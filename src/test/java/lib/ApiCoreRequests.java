@@ -1,28 +1,24 @@
 package lib;
 
 import io.qameta.allure.Step;
-import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
 import io.restassured.http.Header;
-import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.Arguments;
-import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
 
 import static io.restassured.RestAssured.given;
 
 public class ApiCoreRequests extends BaseCaseTest{
+    private final UserApiClient userApiClient = UserApiClient.getInstance();
 
     @Step("Make a GET-request with token and auth cookie")
     public Response makeGetRequest(String url, String token, String cookie) {
         return given()
-                .filter(new AllureRestAssured())
+                .spec(ApiConfig.SPEC)
                 .header(new Header("x-csrf-token", token))
                 .cookie("auth_sid", cookie)
                 .get(url)
@@ -32,7 +28,7 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Make a GET-request with auth cookie")
     public Response makeGetRequestWithCookie(String url, String cookie) {
         return given()
-                .filter(new AllureRestAssured())
+                .spec(ApiConfig.SPEC)
                 .cookie("auth_sid", cookie)
                 .get(url)
                 .andReturn();
@@ -41,7 +37,7 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Make a GET-request with token")
     public Response makeGetRequestWithToken(String url, String token) {
         return given()
-                .filter(new AllureRestAssured())
+                .spec(ApiConfig.SPEC)
                 .header(new Header("x-csrf-token", token))
                 .get(url)
                 .andReturn();
@@ -50,12 +46,32 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Make a POST-request")
     public Response makePostRequest(String url, Map<String, String> authData) {
         return given()
-                .filter(new AllureRestAssured())
+                .spec(ApiConfig.SPEC)
                 .body(authData)
                 .post(url)
                 .andReturn();
     }
 
+    @Step("Make an async GET-request with token and auth cookie")
+    public CompletableFuture<Response> makeGetRequestAsync(String url, String token, String cookie) {
+        return AsyncRequests.getInstance().get(url, token, cookie);
+    }
+
+    @Step("Make an async GET-request with auth cookie")
+    public CompletableFuture<Response> makeGetRequestWithCookieAsync(String url, String cookie) {
+        return AsyncRequests.getInstance().get(url, null, cookie);
+    }
+
+    @Step("Make an async GET-request with token")
+    public CompletableFuture<Response> makeGetRequestWithTokenAsync(String url, String token) {
+        return AsyncRequests.getInstance().get(url, token, null);
+    }
+
+    @Step("Make an async POST-request")
+    public CompletableFuture<Response> makePostRequestAsync(String url, Map<String, String> authData) {
+        return AsyncRequests.getInstance().post(url, authData);
+    }
+
     @Step("Creation user with incorrect email")
     @Test
     public void testCreateUserWithIncorrectEmail () {
@@ -69,31 +85,16 @@ public class ApiCoreRequests extends BaseCaseTest{
         userData.put("firstName", "learnqa");
         userData.put("lastName", "learnqa");
 
-        Response responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .andReturn();
+        Response responseCreateAuth = userApiClient.register(userData).getResponse();
 
         Assertions.assertResponseTextEquals(responseCreateAuth, "Invalid email format");
         Assertions.assertResponseCodeEquals(responseCreateAuth, 400);
     }
 
-    static Stream<Arguments> userData() {
-
-        return Stream.of(
-                Arguments.of("","25369", "Dmitriy_D","Dmitriy", "Ivanov"),
-                Arguments.of("ivanov_123@yandex.ru", "", "Ivan_I", "Ivanov", "Ivan"),
-                Arguments.of("petrov_234@mail.ru", "8521", "", "Petrov", "Petr"),
-                Arguments.of("semenov_147@mail.ru", "74125", "Semen_F", "", "Urievich"),
-                Arguments.of("gonchravov_41@example.ru", "749658", "Gonhar_9658", "Concharov", "")
-        );
-    }
-
     @Step("Creation users with incorrect date - email or password or name")
     @ParameterizedTest
-    @MethodSource("userData")
-    public void testNegativeCreateUser(String userEmail, String userPassword, String userName, String firstName,  String lastName) {
+    @FileSource("data/user-invalid-registrations.csv")
+    public void testNegativeCreateUser(String userEmail, String userPassword, String userName, String firstName,  String lastName, String expectedError) {
 
             Map<String, String> userData = new HashMap<>();
             userData.put("email", userEmail);
@@ -102,14 +103,10 @@ public class ApiCoreRequests extends BaseCaseTest{
             userData.put("firstName", firstName);
             userData.put("lastName", lastName);
 
-            Response responseCreateAuth = RestAssured
-                    .given()
-                    .body(userData)
-                    .post("https://playground.learnqa.ru/api/user/")
-                    .andReturn();
+            Response responseCreateAuth = userApiClient.register(userData).getResponse();
 
             Assertions.assertResponseCodeEquals(responseCreateAuth, 400);
-            Assertions.assertJsonHasNotField(responseCreateAuth, responseCreateAuth.asString());
+            Assertions.assertResponseTextEquals(responseCreateAuth, expectedError);
         }
 
     @Step("Creation user with short name")
@@ -125,70 +122,16 @@ public class ApiCoreRequests extends BaseCaseTest{
         userData.put("firstName", firstName);
         userData.put("lastName", "learnqa");
 
-        Response responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .andReturn();
+        Response responseCreateAuth = userApiClient.register(userData).getResponse();
 
         Assertions.assertResponseTextEquals(responseCreateAuth, responseCreateAuth.asString());
         Assertions.assertResponseCodeEquals(responseCreateAuth, 400);
     }
 
     @Step("Creation user with long name")
-    @Test
-    public void testCreateUserWithLongName() {
-
-        String firstName = "pGphTvWIzAWRoNXZHvsppERSwGSxMDUTUinnFoawHdkEiOSxqotmXSqGexbYMbIOhTYrrBLvdazXfFvxtGKMLLxiUKskNwrZETMkYeszXJPZMFwKqPSBKQBQuMtbsBvhUiyrQyVmVWGyXoeotBTlWceJdXwlAzuKfDnRFabNRnzuTcVHzuMkxathcbIDHHhVCrkTpIfoyzUhgbYieEsfdJLiHNiTZGENVLjbDBYZSbEXsZuXdEIeQWMqRVP\n" +
-                "cOAPujUHUVhMHrYHzrVLDuquxulkbCxLOGvhQPrjtyUQgdonmLswwfnrsyIHBwexKwOzsasoAGZwuPmDaOHANkHTEZJpgbzYHmuUnseDZtmrIrhGqUJjTNEGBIcBjVRMJSKSqklvrvhvTHLnkNQtvQshAxyPqeALfcyVgVzMighMHkdOuxSYtRiaDcKZoFraPpGzQKOecENNqrZAUNCQTzlrPVhQBfvkujBbKakdJommHYdvodEmtVkDstE\n" +
-                "uADjhTOCloDQBMueuOquqBHmVDaViCjeXwQWbwHGnGesPMftUUPtWNdFgvzKEBStQTnQTMbrRTduwoUDECOotPKbOrqUMCkhNQcnzhcOzswPZjIXaTNPwQcgwIiUfSfCIjblSLnaSocUkWBEfenaCPUMWXaHpDPwQHWwJIPXEWoGTGRsbYrSyIbXXsRUldPgSuOGgeKjkkvyCPDjrImfjkBFYGdvzMEGOzkVmLAyjOvLAtuiDuTHMlnLLQT\n" +
-                "WNGYqJwwoILNztMAawMqLMFwRXQMXevjtnPkjTAMvzrBCQzahSJRNShCknszjvZctzOyzWlMCeyJzlMsvGFiSQufTSOEBCXLnmyZuJhKsLYAkVaYYpglnHMWEyQwzOAbAmRhdUbRivbCtxemPhzGeHnDHhOmNbUdjXppjTSmizicpXnwLnDzqSmElPdZPySfKjANNxAbtBeQnItQddlGKKyDfSRLCkFGFqMRUCaoSCTCGJxjnugdYuGSEjH\n" +
-                "ufNDrlNksGNPkEGUQheszWWlhGQvXEKHfdyFAbbVAOKAzOIApjrsBNsxSanCpKUENpjbDwmHvduPeOTwoFzASeTlXjJgeBFAOlSpGxEuPmWTHcUvsOZvHDkQIYZqGvCEleAXEZcJczaWRgmfIEGGjAuOQxAHpWOBsUwzGgyZYNaxUQWyGKdycbtSdaEDjyMkbFXFxtXXACkmFtgrxigKZuQfNUqLYDJjzwBIybOpoOoOsGegovVcorQisqB\n" +
-                "BMHRRaxrvXAkvlPYxTANepvIafbSmpAqTnCUHrjtrSziKfQOIqtWvkQmfbYUYgVMLnLmFHhjMzhpEmgAdmwGKpOsYiOfoGjpCCwqXPtQJNQsJJoIAHSZpYrYcABplwflUCFWRvRdtdgjmDdXaxnVNDxOwYMtIXFJliVFlvrMXQSyzCDyczuPxmjYUhcSbNBUrtIFjQNubKgaunRrrKFhFqRYXIUUFKdumgkLXdTuJSChUpWmMiwXYWzJzEQ\n" +
-                "DJFyMabEakPfFdAUeZpyeHUsoSacBZipGQcxFYAytriwtZbJTKYlSHNGRKmyWwQaYinePUxBNPSMrhNqlkxeOBrAQyTNGmfmLPlhAknFPvwMyfICgTiFSyzmaLqFxemrPONzSpKGksLoNdXgRhBFoqSZnGOryyMIwEyVpPnIaZSplGjAlREEqCZwWYnqshJnwcMSdAQbXuDhhjMZNuDDfbakPCCkfNjPMQQBUMwsWZayFygCzeUmFdzRgaA\n" +
-                "fWcmAzdeVoKRzRBQpLoNWgiTdYzBGYBtiMomGfXqFFYjkCzvLjFIqMAcVnWWAVZSZERbkCFKHbLzmdHBpoNQSDQlQwCuOzKYztFOnmgwtEOBNsulLgCrPcoKCkXyqNUfvjMfuFDzibNrerQmpyMfBmJNbWoLhNyOVISzFEBjpnsEpZSrubaSIkSbUNXQKnNkmnsBdqceuCyxMeVfhvWIxgKuWMRFkNpuZlyuSxMuOkIZtniUyBOnNTmtruG\n" +
-                "XqEBCybsCXBIlAbZzDxNfiApilFVnJdRtQkTsSMxjDJwKPGhuJJogToJgaICionDxEWbHeMeaeFlUdcVItZeVTrPEtoFMsdtLZQTvxoHHvxcsuHoqGDihTwtxWcXxOUVNviHxAfkUKaQLdOSSgajEkqbCBjSotcgZfxclwgMEiDYVSrZMNoKFvrDNGOuwXTgvPTycXdqOmgFcrTjFLjTkhRGPNkmNbIaEfXBjdunktgEQRGnyxtAhDFVoOd\n" +
-                "vrgjvcvGMBaNlOxtvJzrEkRUDjOiqRFBjOPoFuCUbpRfPhgAGPnskdtSRlUPAoHpCAXAFDLrQXNrTmjuXXUAQFkgSwKPdVGOGqzznVCYdAMbqLCodFCalfkfGZpAxthzVVLtgvPWDILeZAdkMwOsfYxRawJEGOdDyrJzyRJfXjYZaLyBafhUvlXozBbVdamAdIRMdxAxmrsFzcYCzrVaKjZvIckMLKagLOpXbgQyBsMhjIvydBqJdlMsJuT\n" +
-                "FRCXOUDvpACeefjkwjDGyprQfDUrECccuZSMxiPrbQVMYIvcgDrqAbddOfSnrDzwHibNGTxdoyXvObohSHvSbcwVQfHssJmCjjRxlWBfxcTCFhBBWBeKStXMNEJgROpPMCgUFYPQwLVEqkAvgQTMhuVMislPwRbQySXQulinpQOgohvWrvuyQqXQuwGzVUeiFauTawZFqpNIhcvSWsPXyOZYcbfRLPRurwQVsvpSHnWkMCKgZJxEZmdgHil\n" +
-                "hAwXJTAcRCQaIffJhKVJUkpbLjDQPgDreVGWGDCbqhSZMYtEzxTDivKivpsgnFZolyFTuheWaOWjGeEcZoKFGkcSDhiEkAvQyytSUYwzDBrDTEiLiMAzxhAURvbtVjjMlfIGyxqRlWwmwDVpryRFWJixedgrogaaCjBjqaijrdFVuWLjXMHBmnsUDsyzWSEaGCJFyzWZDPGJsmcfLfjvCXNUwCCqWtOsHmUbEiLlbzzjgfogNqtgAuhPVXi\n" +
-                "xreycxCGDCLraJbYHMlBHOZIRplhWEqLcXZBVPAErabZaXQQMqFldTipkrODrfTaCeZgAVFXmSGSReSDMshdFigowRhiHGAGFlSFSLmiyuLhasLiVFKMohllHECHFcRfpcKLLvTRWatZjckyeConJmtTTSeepcCwEIfPYlmTqMoMpRHycySiDjyNvkGqothZvYOHpIKQieTvHpClbkFDcywXWVmKDrOcQAYaGHPTvUSPjBycxKZxqCioonv\n" +
-                "yUhESyuRgJaziJAnudHAyJgLuPVVbFDBOCrAIMfzMlHZfZTDeGNOhbsKXeZRZaFEFWTUkxOCNXdoufQLwYNYMbVZlvHzlmVGrhmYDsPmVXwVcLQkhcebGMehDGNKHQLPjSENfoyJunoniEmNlQMFbEoZKtGTObPBTvsxxtpUZshlICNKwiqQIoMZKLJuoQqLOhPVijqLcEhUhljXAsdxCRweMwVErQqsXAVUcAzNvnckqqCkNLhIjgZzBvl\n" +
-                "wUSOpIIyLFkkGgsIkrqaPnbVsETqerWgcdXscehMVwIjPaWZZomVzkwGZyrEVNBUABDGoprnOivBrxMxeSIWABNdNlNzxOafSPLQsbTEAGKfLRVxrxRFtwvZQVLOhNDpmaidtdsqxqrDTyaXLGNkqZKjDJvdawOOTxDmENGDeaQaVNdOwOfSkWtaOyhmzSfvAqTucifblsjpdPosbFchgTVcqfGKbXADfLyyucWPeXiRhEqQBydKdrUjUUl\n" +
-                "HghXwdCLUCDykWoBMNSseWkiaHRDRYuxVxpWZuOxGlUxWHvjFvnpzmkNWccNDzOmnwGPeXTBPeCnZVItMwmMLdGrxcNnOOAWLejpVgtMOjfpLZvCaPwrsYGfJfCxtgXdzchGHwGGqnEeDODdekGmGfCvMYQiRaKDoEnnIisOgCgdwNlCkshLFMzMloRkhpsptUbmsUZXYFCMiIvOckhHYgCwirucZGoQeRLaMwKkbpdOZUpwgbYIHmwDCxc\n" +
-                "GQIaGFHXhstjgPnMjkqRHfjglgBBCpmgziHCJVRFLbaVFpsjIzqfTzhIqdFkqPrlAPlVHWNENxDASbWskcCohDMuUwrHDwjdGSUimqdfhQXqjalwOGQFBjPeuTaSNtsxpfFGFPQxyLzXMZyiSXPNlCyfKIgeTXjwHhAVyJKPrMejLOPSabIEypwNMqWorAbycrDeFyhdeVwIcgumBLEPjwEfusEwoxevITvFNpPyQemuGEklDWbfGZRaDgP\n" +
-                "IqCCLJpLHzGSPvfaZeSkdfwnhFQJxKQEVSMvMUlGbGPyaxJAZtLXgQaEREQoMPNGNRlAlXpzmWBhDpWoIOnLJUbBiVAaksVTKmZcdRTOxykVICdsayXZtTFnEeMKEbaYpqhCXRYRmDzEerLvedZbpSVDgalkekeLhmVVFcwfDzIgJatiFvEQbUkusfkOsndZtUTcxgAffQsxDlySftEgVxEqTJDlOfVibSLwanJONzzIXVhAUIcTFHIATCc\n" +
-                "EEfxmCehRYblSgaZZPiaCxZxylGrGcWhkNvJrGMxqAuMVqTNIhjWCuHeaktBvEyoxYTWMoGMFUKEvEvOgshqxfnnQOCeYJvmFlIUgNQQAxIozoNsSRWEGBSVPQmJRebmkzZpuvhpVUQvIwcTtxdcMlCVVZrsMFlgPoEKuzoQOXjzBMcQaNUmSTRNsRQUWuAHGziXPIxQkdGfDUydWtEDlQygZlkDVUHvZgBWsTpaWdbpHkIexnvtGEJgJjk\n" +
-                "gEFDUKYRaOWfQnNIGuCQkyQlwjRAOyMqZCKpaRcXmrrEgVGoMzhTOlDUvlfxhibDIUmceAGulPKzLkknRSNnsjiNmvMtZhoZcTptlpBaxnfNxhqOXStGzvxVItRvFOfXOvlcUihXsrgDSObQLnPJJkwPiVEiFYzPfFKrhyabIDAhyeIbKBreDXvHGtjGbxkENIJrwjpFrgxmQsQXrmIPGEUujbgfnawxhpOJhVbFrYexgLzOILzbqNcuhRM\n" +
-                "hwOxDYNTgKfeGLWqTHypolhljtIoSawFyvDMeeIiPonLIOdRvkYCdrdlUItwDglcODIikUuFTJCjQjEEEwXirkauqECmCBoCAzWLihcQsSdPfzRrFMWmXyuvjBmJhNpqVpeHiNPmPXvlnVGApQVvBAheBtQnybNTJxlZyToCczRtieDKaSNiLrtBHRhTzVUTHYPORUFyjQgLwTRElimMKjmbSqdRPsNPvCuweiMbHtnMjBQSAyLvSdpYujm\n" +
-                "JDmMfGYbQrYdBakKEUfZkEziQtHUAQFYuQLyELBawFsMKwEgVMqadEdKEmfBNkfzOjlZeHPIcVBTCrfCACapgzpPzkRZMyiHceXFiKmLvYnkkwCFgcAbKOtOXNrjbzMWMYerRSDmCTcubUEmqEsUxrntBSAMuhXSgmNjpjKwsGlxnxwFgVZvmVbXaRBdMvPVfZcSbTNyFQzPrNULdcmrUtndxSOCGOQLAemqcpPHDNuzLFgjNKVMNxrsSOZ\n" +
-                "PbaeCdoMikjUThpABjrOqFyvlRWKHbRAZDyCwUlAcZLhnwiwjrxpfpkVkVHqMuAnQySRngfZXNjuezxwmdcJJXFoJutbfmwhIprjeEPkIYnjSCeLUkeyZjAglerbhqYXOJXIdDKuaGrRRePihWPveMBUcekwCRxjiBjckCBqIdEAnHyYjqBQkYLomcqItGVtszYzmtsMKOilXUEYMiEXBHviXaUSvNpfKHQCyuSbfiaNIhKewIHiIMShfdk\n" +
-                "LKmIHaqLTDzMISLLlYQMvfJSqbPROedhViRRGuyfxanxAiiODuGKubQJbIILgVrxVxAseyZJYoTqShoyeMOWxMDFxVfaSVxVnzTTGzIocUwDeHzFhMYtYxefTutBafFmkPUPXjQOjNOcxSPKBbnSavvlcLYKdmCUFhkNetleDCcLVuazYjQcTFnAloiNeiwiJxpJaXYeWBFNhopxbunocDTorDDFjFnkdNiudwJbuzLCqEVZUGujbPMLUJO\n" +
-                "fbTgOhvkThVMEUYwvfltMRMluAUhzJKsmZXXilpGSaEXvuETnHKwyopRfUCRdzddUmQyQHyvRrAozUwweuvEicsNigvgdpSfWtaASgpptBnpJftgjcqpjCuoSBJseJIhXRHzCAJzyWdqKveUYxLTGPqUOdbYybtWEMlSUwfCfCfCpIVUKaCEIgPzhDRtTadFFVPdtykGYHUhORggalHGqoAQeQffqsdeuASXPcvebnUGZTlEVqrFgYYiBbQ\n" +
-                "RztXiFJMQjzXNwDciDgyAaerVZFJAJckSuOmQAUhdkmigFDdIonReEforENrWPDLoSWvkbtmbeHNSbWGbTKQgjYmceJHCtErQMVqQAMaQKhQtYVGgOWWMGRbGlwtOtOHuvpLdWmUEuGMmKVfDkiMlhsAGaWbXyxfCYsaRUnSnkPtKHsGMhYLXSXuonLPmSzEmpYvBAfVIVLESQWRncGYFklGguTJvnnJnNtlLxENForvkeYPgBmIdDHhaXR\n" +
-                "iNEfVQnhYIZqeUdvnhbcvSvcGfoERWbRIscsTwjAbvbziGBLoGQnRRsRBGPZSClvkmIWGrCuMoJlCFyhiUtXQLrSqoAedrNnpfBgyrkAkpeZYWejfrcvIdWDSnZQQbFuMrqVzDLZsjiYYsTodlUqgJERQlLiKulVTmIsHwhMQDhIoVTFSczkDKpOcGqIPDUhaNNBmGMVUKGqMawXpghRYeRQXlUGJoohVDfmjSlhpRitcZiGyuYtKUOkxjC\n" +
-                "VLvUOdxxAmidHoPPaAFCKuLCWQGFIKOsTYeHepPKhzxljkTHLHpHARrhcMNbUlnvLsLkjrFACPStHZkwqlFYaHEMBIRASQzTQhmRnxOQQzCApNHiCZvpKrYeYXpbxfBFKnOqPGUcHmKlbnqRmFuTWSJMZMnzkteAdLzfuCVokrUwvLoYnuBwuYRWEqsmGlIHDJEBNEbxtsUqWOtFAmxuWifsxDHeYlRwUsrcozlWWvMfHzrdkzjJqDzLqXa\n" +
-                "IihovEWdTRFTtZqFHWmoTlsgbXiWlZUvlNPBRajhFDOVFxIKPcWYTFDDreCJOQSLIdrNlAlwcaLrpvrRSkkggvnobHROvXFTnVoUXdLXQRMamkGMiAqMjsVCxGZQKzXxkXFyrrAlwOJhXsuaKVgkvWnPXsXsTLVRogdjwYmPMfQnlGwQnzqNhlhDZTBSVTZRnyMVAGXpGykjyeGqyVchxkquPZztABwVDDtDqLOCKzsIdCRsvnnoCPjhFiW\n" +
-                "FvAXBNqLFxJDVMTfIvEbjgwXHaProWTlLdLRBFMqsaLFGCGrgefoENMCtmtdUGazjljDHXbzdEDdLjpmMojrNAKeQliNHnuUsvquUxSLDxabWpfcYAOYMDdQbasGReNxRWwcXGUHCxtjHSGrfnhhVdprRQvMVDrjnSdQZXntKOGqLIunhuXlDiEwjQgvifwIIptyiGINfsTEpiSVdPlxRNAiZbzADBWmtKetDawGdYUuunIdWwsJYfuIxQo\n" +
-                "WseQtZOTaFomEOeWWjgUhlBGfaLpcTYlaxTAswqhZXUFxZGZQctuyVonUgurqnxqpZgxKInHVuIkXFZUmGcArWoTwxHKZUdfhKtPYHSOzyBnTzodtyUdhEebdpwxpCktNxhrwzzDzvYJergjCCXZFZnPXnjrIEBApOgRAfWypBUjXNDTSjPtHfhZaUNBkwuQawsWACYkkEQUeJeyddHxrUVtdxFVQLNRhGoPUiLBQssSlHrlzFYwYZIUkgs\n" +
-                "LXboMCYKxjNkCvEhJlXNyZaYoYnQvkKeazLauKmDUEOBqLzcqFrkSgDFXlcaRsNxtELToyVDrxHXyIrOlPZfpTOdCgTHGsHODmzMiYQlymktgSKLdEmQASNdolotYyKseJQyrzpVyAuZIJQJdnrqwYVCxYUHWYFsqzznbbvsSkMfYmUYyqqEItvukWRJGhlmlCAYrsQQDHeXPkxDnLbtcsCEoKFRtQdWwwxizoftGDqTwLrwhWLyedqEocp\n" +
-                "avvrSFGcMviDbMrELdbWppQzUOUAfqkbWchLhkXQSyTsKqSyjRajpaVPXzGFEJaHPdhXgWIJZCHzhCIHZZiXnqKNMlbuUxBqNKxNtdjKkWNmojGeAdwHIHCRgIPFSMjnahpXVKlcPBCJZmWljreYXEJymmoDWKdUPsMyBqZpgaHeVTJcBMowwyLagXFEdISOFWDiptbKbzhsjLsntKeBTxzGCEPMzrzaQGvldiJDoVHMiQOxWkmIbXrtRLP\n" +
-                "rsAFAmUVzlzrAVSuJgukyLRpCTvJzQQvrFpYLctWskkZvEivjUDOfrBrRacBVHsjFcsYlTxCfrjjEBTcsXtvSvQgmOsShLZfsKQbUoRjVBkhJtejgRJAJoHrECnLWCXOrmdRVJHHrAQtjIulqMkJealOzHxeTSMkedWdzTMIvPZAUyJrnyDqGVZiWvTguaodCwpQCeJtmLdlkQJdvmvYbLjIfsXrOCDQUirGqEvFxVUrLksoehbPFqKOCkx\n" +
-                "JGphwBvpHIksCkABaxHusZMFvcmzWlTqNJXdYOxePaMfCSnXOjhGEswlfnbrsISoUGucfMJhLmyCzjmgzTWDEcRHQWBqryZohxoKPsPlmqArgizfFmksACjfTOWgXumtzmNJYXgeefcrIBJupCRbeSDJeFFMrimkROVMUSMcQlZLModlbbQsdaoYkPOdLtFhipeRtsdPjRHvlVkkxqPOiWuywuiiqDWTDhjyZeTPyXbduIvZRKueuKJSxGj\n" +
-                "hIrBBSwoRmDsvYBzwngoiVSnrjQQpzXnsDTbVAblwgBbFCGtjRWYTEvHcPSbEGVOikYPpXFmQpjkHKOQwcSVEXRDnCgatDmXQTYRRqMsKoHFgXuUhqUAcKTrNQfGMwmMykjeWLoTuQkgEjbHPJcLrIJFTEBzfiCkAtCyomigJEJAqiuzdQfvTLASoWYMXvxvSsBfSIDwMQIZvePwAUESHvLnioSHxeMxDxSNQERXKNwvyyjYsuMRgKKFtpl\n" +
-                "hAdjVshcwYPcWXhBwjuFYgFHUBMeGJdVhfqRHztHUKcYLzCsXmkedueLBophuAGJIbwYwGkGCsQCjMmoseCIacwJmqbBXOWSUyWikpiqQGjlquBTdlqMILlSDpmtGKAvxdBEmOzGBooYgKqRFFUDEnDsYRDEReuKlRtQwohQNHXILjKPmCpvbETEJWPFtPGMTGFOcAStyplZIgHkUibZppxrImsUMroSPJhsGvfESCuMwKiJaytOzCexDAk\n" +
-                "iMaobxGtMBfCXgmWlHIePwogtPvxRbrTpjLrOPMRgkWYIZDPPeMaXrhmlopLOxQhMarCiiBcSGddAKhTdDZxNVfbVpGoQubBIiKksKUtuysnhcYfsWgwRfZrhfekfwlOUHPdFTGEDEvmEmszjzdLilafJLILmktAUZVVVxyXIpuQBAEVUcdGBjDfgjJCToKlNPJTVMICFzESfimydUqqNoRGugpjjmhEDaruTaEnlbVpBNIqOyxSsUaANxL\n" +
-                "zpdzXyZNVmoDLVxTvezcyvSJTEuETBbpjOsPzogIQVuSBkQlnCczogQtGbLAIaHGBvUbJsjYAipGJHfwXhREdGuqOqXCdHTUKfRqYYdMyEwyaVGjulQEKrgTYIhpQLCZNTQeZkikPFBQITKxlQagHnxbbdmWlERXKuQAnklbHubKyvgFZiJuVDSzkwcvHAvEuBDXAnMNFuHriQVvzExtOgVcMDZMlFDWpSpgETgYmziGmdiHRnshgGcjMEl\n" +
-                "nnAbZbupFUNYtqpUHJeCPOYnSIakYDmKqFDjPrIBydxioWImnavDxQXABdlWkQnXgPPIrGJjrCDSiPLruQUUCLVpWJSrUmpAVwTZaRESoaOGiQdakPffnBsknBvWypHJsrCnGHBOCyMKfdOhvRFhixHRKOXZazDxtaZtFFikdmHffyXTwsLTqTRVkvIoRiRJLgXzCwsJHztzymVjyySyoANeQnKRvyLyjuWoVRMIPoMCxMgUVBJBYPZrTOQ\n" +
-                "EfgTzNxOKNDlIhiOiVcScAIdpQJrkOaFNdAHBvVDWsxFDVuswNnersGPeSixLIKdKUYVDOlkQzrwjGmBzZGAvjKDSIPXThfxOjtcmKLugUSrIauzqangpSLvKMRYZpQkqSCBHOJDpFgHOYcJFnORJUokBIcknQLLMZIUEyCVFyVJcFWCiskHfABvNDkyKkQUWAJCrcFsBecyUeWzKvbNhoxDTuDBTyXfluayRQLEXSkdfmrllbMWTWxADgH\n" +
-                "RMQSjIhfNeAjUKSmoCBXNXEaetbWqVqncjFDTjVEzlwDaVrDDuxpcNlLVNyHjWXMbdsxOElZQFKjDETKBzhfYvdNZuTmWZgVtdbFulezZfhvBHonNbsvSNoscHpzNJSrIolENsQnjUbEvpthEBBRkyeVRsxVaZBBCnKxmRWZFRzorzldHEKMmrHpzvHihMZRsJvTmURYlBlLvqOcoDhvegwRBFUOgnicfKozIdCFMKCSiafZkDfGVAPbFXh\n" +
-                "SXigpxuRJGHSTPBMNfRbgESqquvPQfdxWcMlnpRMmvcwQIwlLGTEnPZzLGfSNQqhvtAqnRAukQcgkubPfKaVvAwVCTbvulraLTCDfjbYFpuDTjcCTZSnhIVhONaYiyuOBAQenjCYwQLjKQyZZjwLBOoxFIthmVsLBTOZBQkxbGIDiWXKNmPiiwBjbNvRJrMuZWPIAtLdoopEIwlZJLpHxgYXsDRvpuHaKBVSQKBqRjMAAocjmWqLjbLVUAZ\n" +
-                "VfaJqfsDCDoGaPuZdzwGMzIARBfwfrOmIiOeXnUIciWJGFBXhlsYKzxpaHmwcBGeNWtKqBMXpShBDSBRSsvuDopoVJVCuypFkPGdeYlcnHIOYBuuizgIKXtseBvizPUwYebkvtndcrIFetHtkVSHxPGbUFpDAFQeEMNYthLnltRccIuGdghKPNqLpLCzcvshQkonlAyIYMuxLCIswiLUsAwgzwOoUKvjtyRmTXOYcfysVNpqRLGUGSVNqxR\n" +
-                "CckuWxvbiUzoaxzXokRFBOqWQhoLwTdfqgWARqQPhODZmSqmpDEvEDegoMEgiPQINqMCUKINKyaMiKNoouXDdMIrDOsNWOTbiJhCNGNHtsdtJSLxjJvgYDWdxoQdZuqSHuuvGYbqAislxCYkvWxdnObRDvfFnhnzoXAOcLtePsbxDOerSPjObEnbnpVzielSjpSqsFQecdYgpWjfQMIgShckerDcunknCSTnYunzRuwuLieClvnlQOymmHP\n" +
-                "ehcUqiZmpDSReorDAetcSursRNcTSYofZeqcjSglSRHGOMoFKcMSVCufugIAxRDKFwJNYVerntGczOEhGJGRaqJYklmShukVAmHNVVDEwCVzjWPgHZdqkVSYVAeGrRJAkglXcrbGFboOSqSJCvHBYnrIPrtKVPIuTGGVmMlcpXcCVyKQCIMqJtolHikWGMEgcOsdNjmxvseUcinqOpjtVkmwtAlHSxxwdWcIBADNhadHubuanNypgvLGnTq\n" +
-                "rnQAlMHdaxGEGFMvHscPrviuUcfNhVaNotrxnmCMmLUkntOcEwScoJlTaKgkensKretPfvMkqKeCoyDNTvbCjWuWlHvxTLoHRbgQKHTJiGYeZIMbZRxHzVYKOzntuJPEBKxOqqEBhiGVKmznaeWHvsKWiyxZSFophKeSLruZuAsdPvqWQYyTuPlCMnabFTWVFNEFvXHWQuUsoLTueFfdWyVaYksdCUbNUCzgblPSpsJmicmlqOcKOfDvOwh\n" +
-                "YjkZONacYSzzCfXYhvPKcRUizQfyTJQNgcglmjlqLsOrFeRkcsxoBLPnaJKjhuiwQRhmMMgDwLxosigqduzYQAdghRSeSmBBhIeejgdQgTrUHrIcrRknecHFcFOwQAghclFteuWRmnQypXTnmBFJfWbQDnNYjqMUpaLFOYOYqUgfCbGdxSdhjPydQFdwPTjNZggYMqkStlNecTVAITaTfucrvVGBUNqWGYOLSwtMtCIOthsqqtAPbnsqYAk\n" +
-                "WAfLpCIJoFucTzcCtVgEweQApmWBVGgPYcHTcejOlXVDRFihaWAyKEHWCSxdHnffWyyxWaEupRowfkXwrrJlZNXddUYmwhbvtgDfTNzrUqfsyWlbBDFYgHXwcMLUHBRvqogUDqxYyNOOQgqpjGRzJxWOElLHhDCYBzZymgalYwGyeCMRwaugJSEnkBaCTPnYQaiVpNuLvVtfKsSubcJowMamNcsZwbZIWPUbsyZykWNgcsBGXshKOLiwrNS\n" +
-                "TKSYnZEBUiEmNZBsYLGlfUBbOdbWUQVysWToYgSPGvEmkyQxkDWVJhrtnbUUBFoVLMvZmloGcwxNaqGOtbNDTnTQWrlXbMtIjPhfaSOgfdXfnekleclZZNQtPXdjTxIVzOKZXBqwEKaAqtZtDkwuXPreLROpaOKBvpjzCuETvgdsOrkKnmIhGzNaMDJXZpaaXIQGFsqVNpXgLWKMiEwQkDyJSajKmPMKtYloUHhvMRbwLolBnDipRvVzxog";
+    @ParameterizedTest
+    @FileSource(value = "data/user-long-names.jsonl", columns = "firstName")
+    public void testCreateUserWithLongName(String firstName) {
 
         Map<String, String> userData = new HashMap<>();
         userData.put("email", "vinkotov@example.com");
@@ -197,11 +140,7 @@ public class ApiCoreRequests extends BaseCaseTest{
         userData.put("firstName", firstName);
         userData.put("lastName", "learnqa");
 
-        Response responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .andReturn();
+        Response responseCreateAuth = userApiClient.register(userData).getResponse();
 
         Assertions.assertResponseTextEquals(responseCreateAuth, responseCreateAuth.asString());
         Assertions.assertResponseCodeEquals(responseCreateAuth, 400);
@@ -210,46 +149,26 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Request date not same user")
     @Test
     public void testRequestDateOfNotSameUser() {
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", "vinkotov@example.com");
-        authData.put("password", "1234");
-
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
-
-        String header = this.getHeader(responseGetAuth, "x-csrf-token");
-        String cookie = this.getCookie(responseGetAuth, "auth_sid");
-
-        Response responseUserData = RestAssured
-                .given()
-                .header("x-csrf-token", header)
-                .cookie("auth_sid", cookie)
-                .get("https://playground.learnqa.ru/api/user/1")
-                .andReturn();
+        Response responseUserData = SessionPool.getInstance().withSession(
+                "vinkotov@example.com",
+                "1234",
+                session -> userApiClient.get(1, session).getResponse());
 
         System.out.println(responseUserData.asString());
 
-        Assertions.assertJsonHasField(responseUserData, "username");
-        Assertions.assertJsonHasNotField(responseUserData, "firstName");
-        Assertions.assertJsonHasNotField(responseUserData, "lastName");
-        Assertions.assertJsonHasNotField(responseUserData, "email");
+        Assertions.assertJson(responseUserData)
+                .has("username")
+                .lacks("firstName", "lastName", "email")
+                .verify();
     }
 
     @Step("Changing data of user without of auyhorization")
     @Test
     public void testChangeDataOfUserNoAuthorization() {
         String newName = "Changed name";
-        Map<String, String> editData = new HashMap<>();
-        editData.put("firstName", newName);
+        Map<String, String> editData = Map.of("firstName", newName);
 
-        Response responseEditName = RestAssured
-                .given()
-                .body(editData)
-                .put("https://playground.learnqa.ru/api/user/1")
-                .andReturn();
+        Response responseEditName = userApiClient.edit(1, editData, null).getResponse();
 
         System.out.println(responseEditName.asString());
         Assertions.assertResponseTextEquals(responseEditName, "{\"error\":\"Auth token not supplied\"}");
@@ -258,37 +177,15 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Changing data of user by login for another user")
     @Test
     public void testChangeDataOfUserWithAnotherAuthorization() {
-        Map<String, String> userData = DataGenerator.getRegistrationData();
+        UserFixturePool.Fixture fixture = UserFixturePool.getInstance().shared();
 
-        JsonPath responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .jsonPath();
-
-        int userId = responseCreateAuth.getInt("id");
-
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", userData.get("email"));
-        authData.put("password", userData.get("password"));
-
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        int userId = Integer.parseInt(fixture.getUserId());
+        SessionPool.Session session = fixture.getSession();
 
         String newName = "Changed name";
-        Map<String, String> editData = new HashMap<>();
-        editData.put("firstName", newName);
-
-        Response responseEditName = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-                .body(editData)
-                .put("https://playground.learnqa.ru/api/user/" + (userId-1))
-                .andReturn();
+        Map<String, String> editData = Map.of("firstName", newName);
+
+        Response responseEditName = userApiClient.edit(userId - 1, editData, session).getResponse();
 
         System.out.println(responseEditName.asString());
         Assertions.assertResponseTextEquals(responseEditName, "{\"error\":\"This user can only edit their own data.\"}");
@@ -297,39 +194,15 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Changing date of user for incorrect email")
     @Test
     public void testChangeEmailForIncorrect() {
-        Map<String, String> userData = DataGenerator.getRegistrationData();
-
-        JsonPath responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .jsonPath();
-
-        String userId = responseCreateAuth.getString("id");
-
-
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", userData.get("email"));
-        authData.put("password", userData.get("password"));
-
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        UserFixturePool.Fixture fixture = UserFixturePool.getInstance().shared();
 
+        String userId = fixture.getUserId();
+        SessionPool.Session session = fixture.getSession();
 
         String newEmail = "Changedemailmail.ru";
-        Map<String, String> editData = new HashMap<>();
-        editData.put("email", newEmail);
-
-        Response responseEditEmail = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-                .body(editData)
-                .put("https://playground.learnqa.ru/api/user/" + userId)
-                .andReturn();
+        Map<String, String> editData = Map.of("email", newEmail);
+
+        Response responseEditEmail = userApiClient.edit(userId, editData, session).getResponse();
 
         System.out.println(responseEditEmail.asString());
         Assertions.assertResponseTextEquals(responseEditEmail, "{\"error\":\"Invalid email format\"}");
@@ -338,70 +211,26 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Change first name of User for incorrect")
     @Test
     public void testChangeNameOfUserForIncorrect() {
-        Map<String, String> userData = DataGenerator.getRegistrationData();
-
-        JsonPath responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .jsonPath();
-
-        String userId = responseCreateAuth.getString("id");
-
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", userData.get("email"));
-        authData.put("password", userData.get("password"));
-
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        UserFixturePool.Fixture fixture = UserFixturePool.getInstance().shared();
 
+        String userId = fixture.getUserId();
+        SessionPool.Session session = fixture.getSession();
 
         String newName = "M";
-        Map<String, String> editData = new HashMap<>();
-        editData.put("firstName", newName);
-
-        Response responseEditName = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-                .body(editData)
-                .put("https://playground.learnqa.ru/api/user/" + userId)
-                .andReturn();
+        Map<String, String> editData = Map.of("firstName", newName);
+
+        Response responseEditName = userApiClient.edit(userId, editData, session).getResponse();
 
         System.out.println(responseEditName.asString());
         Assertions.assertResponseTextEquals(responseEditName, "{\"error\":\"The value for field `firstName` is too short\"}");
     }
 
-    String cookie;
-    String header;
-    Integer userIdOnAuth;
-
     @Step("Try to delete locked user")
     @Test
     public void testDeleteLockUser() {
-        Map<String, String> authorizationDate = new HashMap<>();
-        authorizationDate.put("email", "vinkotov@example.com");
-        authorizationDate.put("password", "1234");
-
-        Response responseAuthorization = RestAssured
-                .given()
-                .body(authorizationDate)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        SessionPool.Session session = SessionPool.getInstance().getSession("vinkotov@example.com", "1234");
 
-        this.cookie = this.getCookie(responseAuthorization, "auth_sid");
-        this.header = this.getHeader(responseAuthorization, "x-csrf-token");
-        this.userIdOnAuth = this.getIntFromJson(responseAuthorization, "user_id");
-
-        Response responseCheckAuth = RestAssured
-                .given()
-                .header("x-csrf-token", this.header)
-                .cookie("auth_sid", this.cookie)
-                .delete("https://playground.learnqa.ru/api/user/" + userIdOnAuth)
-                .andReturn();
+        Response responseCheckAuth = userApiClient.delete(session.getUserId(), session).getResponse();
 
         System.out.println(responseCheckAuth.asString());
         Assertions.assertResponseTextEquals(responseCheckAuth, "{\"error\":\"Please, do not delete test users with ID 1, 2, 3, 4 or 5.\"}");
@@ -410,43 +239,17 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Step("Delete current user")
     @Test
     public void testDeleteCurrentUser() {
-        //Generate User
-        Map<String, String> userData = DataGenerator.getRegistrationData();
-
-        JsonPath responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .jsonPath();
-
-        String userId = responseCreateAuth.getString("id");
-
-        //Login
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", userData.get("email"));
-        authData.put("password", userData.get("password"));
+        //Generate User and Login
+        UserFixturePool.Fixture fixture = UserFixturePool.getInstance().leaseExclusive();
 
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        String userId = fixture.getUserId();
+        SessionPool.Session session = fixture.getSession();
 
         //Delete
-        Response responseDeleteUser = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-                .delete("https://playground.learnqa.ru/api/user/" + userId)
-                .andReturn();
+        userApiClient.delete(userId, session);
 
         //Get
-        Response responseUserData = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-                .get("https://playground.learnqa.ru/api/user/" + userId)
-                .andReturn();
+        Response responseUserData = userApiClient.get(userId, session).getResponse();
 
         System.out.println(responseUserData.asString());
         Assertions.assertResponseTextEquals(responseUserData, "User not found");
@@ -456,34 +259,13 @@ public class ApiCoreRequests extends BaseCaseTest{
     @Test
     public void testDeleteUserWithAnotherLogin() {
         //Generate User
-        Map<String, String> userData = DataGenerator.getRegistrationData();
-
-        JsonPath responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .jsonPath();
-
-        String userId = responseCreateAuth.getString("id");
+        String userId = UserFixturePool.getInstance().shared().getUserId();
 
         //Login with another user
-        Map<String, String> authorizationDate = new HashMap<>();
-        authorizationDate.put("email", "vinkotov@example.com");
-        authorizationDate.put("password", "1234");
-
-        Response responseAuthorization = RestAssured
-                .given()
-                .body(authorizationDate)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        SessionPool.Session session = SessionPool.getInstance().getSession("vinkotov@example.com", "1234");
 
         //Delete
-        Response responseDeleteUser = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseAuthorization, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseAuthorization, "auth_sid"))
-                .delete("https://playground.learnqa.ru/api/user/" + userId)
-                .andReturn();
+        Response responseDeleteUser = userApiClient.delete(userId, session).getResponse();
 
         System.out.println(responseDeleteUser.asString());
         Assertions.assertResponseTextEquals(responseDeleteUser, "{\"error\":\"Please, do not delete test users with ID 1, 2, 3, 4 or 5.\"}");
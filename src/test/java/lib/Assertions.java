@@ -2,23 +2,41 @@ package lib;
 
 import io.restassured.response.Response;
 
-import static org.hamcrest.Matchers.hasKey;
-import static org.hamcrest.Matchers.not;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 
 public class Assertions {
     public static void asserJsonByName(Response Response, String name, int expectedValue) {
-        Response.then().assertThat().body("$", hasKey(name));
+        ResponseJson json = jsonOf(Response);
+        assertTrue(json.has(name), "Response JSON doesn't have field " + name);
 
-        int value = Response.jsonPath().getInt(name);
+        int value = json.getInt(name);
         assertEquals(expectedValue, value, "JSON value is not expected value");
     }
 
     public static void asserJsonByName(Response Response, String name, String expectedValue) {
-        Response.then().assertThat().body("$", hasKey(name));
+        ResponseJson json = jsonOf(Response);
+        assertTrue(json.has(name), "Response JSON doesn't have field " + name);
 
-        String value = Response.jsonPath().getString(name);
+        String value = json.getString(name);
         assertEquals(expectedValue, value, "JSON value is not expected value");
     }
 
@@ -29,6 +47,26 @@ public class Assertions {
                 "Response text is not as expected");
     }
 
+    public static void assertResponseTextEqualsStreaming(Response Response, String expectedAnswer) {
+        try (Reader reader = new InputStreamReader(Response.asInputStream(), charsetOf(Response))) {
+            char[] chunk = new char[8192];
+            int offset = 0;
+            int read;
+            while ((read = reader.read(chunk)) != -1) {
+                for (int i = 0; i < read; i++, offset++) {
+                    if (offset >= expectedAnswer.length() || chunk[i] != expectedAnswer.charAt(offset)) {
+                        fail("Response text is not as expected: first difference at char " + offset
+                                + ", expected \"" + snippet(expectedAnswer, offset)
+                                + "\" but was \"" + new String(chunk, i, Math.min(32, read - i)) + "\"");
+                    }
+                }
+            }
+            assertEquals(expectedAnswer.length(), offset, "Response text is not as expected: length differs");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body", e);
+        }
+    }
+
     public static void assertResponseCodeEquals(Response Response, int expectedStatusCode) {
         assertEquals(
                 expectedStatusCode,
@@ -37,16 +75,229 @@ public class Assertions {
     }
 
     public static void assertJsonHasField(Response Response, String expectedFieldName) {
-        Response.then().assertThat().body("$", hasKey(expectedFieldName));
+        assertTrue(jsonOf(Response).has(expectedFieldName),
+                "Response JSON doesn't have field " + expectedFieldName);
     }
 
     public static void assertJsonHasFields(Response Response, String[] expectedFieldNames) {
+       ResponseJson json = jsonOf(Response);
        for(String expectedFieldName : expectedFieldNames) {
-           Assertions.assertJsonHasField(Response, expectedFieldName);
+           assertTrue(json.has(expectedFieldName), "Response JSON doesn't have field " + expectedFieldName);
        }
     }
 
     public static void assertJsonHasNotField(Response Response, String unexpectedFieldName) {
-        Response.then().assertThat().body("$", not(hasKey(unexpectedFieldName)));
+        assertFalse(jsonOf(Response).has(unexpectedFieldName),
+                "Response JSON has unexpected field " + unexpectedFieldName);
+    }
+
+    public static JsonExpectation assertJson(Response Response) {
+        return new JsonExpectation(Response);
+    }
+
+    public static StreamingJsonExpectation assertJsonStream(Response Response) {
+        return new StreamingJsonExpectation(Response);
+    }
+
+    private static ResponseJson jsonOf(Response Response) {
+        ResponseJson json = ResponseJson.of(Response);
+        assertTrue(json.isObject(), "Response body is not a JSON object: " + Response.asString());
+        return json;
+    }
+
+    private static Charset charsetOf(Response Response) {
+        String contentType = Response.getContentType();
+        int charset = contentType == null ? -1 : contentType.toLowerCase().indexOf("charset=");
+        if (charset < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        return Charset.forName(contentType.substring(charset + 8).split(";")[0].trim().replace("\"", ""));
+    }
+
+    private static String snippet(String value, int offset) {
+        return offset >= value.length() ? "<end of text>" : value.substring(offset, Math.min(value.length(), offset + 32));
+    }
+
+    public static class JsonExpectation {
+        private final Response response;
+        private final List<String> present = new ArrayList<>();
+        private final List<String> absent = new ArrayList<>();
+        private final List<String> valueNames = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        private JsonExpectation(Response Response) {
+            this.response = Response;
+        }
+
+        public JsonExpectation has(String... names) {
+            present.addAll(List.of(names));
+            return this;
+        }
+
+        public JsonExpectation lacks(String... names) {
+            absent.addAll(List.of(names));
+            return this;
+        }
+
+        public JsonExpectation eq(String name, Object expectedValue) {
+            valueNames.add(name);
+            values.add(expectedValue);
+            return this;
+        }
+
+        public void verify() {
+            ResponseJson json = jsonOf(response);
+            List<String> mismatches = new ArrayList<>();
+
+            for (String name : present) {
+                if (!json.has(name)) {
+                    mismatches.add("missing field " + name);
+                }
+            }
+            for (String name : absent) {
+                if (json.has(name)) {
+                    mismatches.add("unexpected field " + name + "=" + json.get(name));
+                }
+            }
+            for (int i = 0; i < valueNames.size(); i++) {
+                String name = valueNames.get(i);
+                String expected = Objects.toString(values.get(i), null);
+                if (!json.has(name)) {
+                    mismatches.add("missing field " + name + ", expected " + expected);
+                } else if (!Objects.equals(expected, json.getString(name))) {
+                    mismatches.add("field " + name + " expected " + expected + " but was " + json.getString(name));
+                }
+            }
+
+            if (!mismatches.isEmpty()) {
+                fail("Response JSON is not as expected (" + mismatches.size() + " mismatches):\n  "
+                        + String.join("\n  ", mismatches) + "\nbody: " + response.asString());
+            }
+        }
+    }
+
+    public static class StreamingJsonExpectation {
+        private static final int MAX_REPORTED = 20;
+
+        private final Response response;
+        private final Set<String> present = new LinkedHashSet<>();
+        private final Set<String> absent = new HashSet<>();
+        private final Map<String, String> values = new LinkedHashMap<>();
+        private final List<String> mismatches = new ArrayList<>();
+        private int mismatchCount;
+
+        private StreamingJsonExpectation(Response Response) {
+            this.response = Response;
+        }
+
+        public StreamingJsonExpectation has(String... names) {
+            present.addAll(List.of(names));
+            return this;
+        }
+
+        public StreamingJsonExpectation lacks(String... names) {
+            absent.addAll(List.of(names));
+            return this;
+        }
+
+        public StreamingJsonExpectation eq(String name, Object expectedValue) {
+            values.put(name, Objects.toString(expectedValue, null));
+            return this;
+        }
+
+        public void verify() {
+            int records = 0;
+            try (JsonStreamReader reader = new JsonStreamReader(
+                    new InputStreamReader(response.asInputStream(), charsetOf(response)))) {
+                JsonStreamReader.Token token = reader.next();
+                if (token == JsonStreamReader.Token.BEGIN_OBJECT) {
+                    verifyObject(reader, "$");
+                    records++;
+                } else if (token == JsonStreamReader.Token.BEGIN_ARRAY) {
+                    while (reader.peek() != JsonStreamReader.Token.END_ARRAY) {
+                        if (reader.next() == JsonStreamReader.Token.BEGIN_OBJECT) {
+                            verifyObject(reader, "$[" + records + "]");
+                        } else {
+                            mismatch("$[" + records + "] is not an object");
+                            if (reader.getDepth() > 1) {
+                                skipRest(reader);
+                            }
+                        }
+                        records++;
+                    }
+                    reader.next();
+                } else {
+                    mismatch("body is not a JSON object or array");
+                }
+                reader.next();
+            } catch (IOException e) {
+                mismatch("body is not valid JSON: " + e.getMessage());
+            }
+
+            if (mismatchCount > 0) {
+                fail("Response JSON is not as expected (" + mismatchCount + " mismatches in " + records + " records):\n  "
+                        + String.join("\n  ", mismatches)
+                        + (mismatchCount > mismatches.size() ? "\n  ..." : ""));
+            }
+        }
+
+        private void verifyObject(JsonStreamReader reader, String path) throws IOException {
+            Set<String> seen = new HashSet<>();
+            while (reader.next() == JsonStreamReader.Token.NAME) {
+                String name = reader.getText();
+                if (absent.contains(name)) {
+                    mismatch(path + " has unexpected field " + name);
+                    reader.skipValue();
+                } else if (values.containsKey(name)) {
+                    seen.add(name);
+                    verifyValue(reader, path, name, values.get(name));
+                } else {
+                    if (present.contains(name)) {
+                        seen.add(name);
+                    }
+                    reader.skipValue();
+                }
+            }
+
+            for (String name : present) {
+                if (!seen.contains(name)) {
+                    mismatch(path + " is missing field " + name);
+                }
+            }
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                if (!seen.contains(value.getKey())) {
+                    mismatch(path + " is missing field " + value.getKey() + ", expected " + value.getValue());
+                }
+            }
+        }
+
+        private void verifyValue(JsonStreamReader reader, String path, String name, String expected) throws IOException {
+            JsonStreamReader.Token token = reader.peek();
+            if (token == JsonStreamReader.Token.BEGIN_OBJECT || token == JsonStreamReader.Token.BEGIN_ARRAY) {
+                mismatch(path + " field " + name + " expected " + expected + " but was " + token);
+                reader.skipValue();
+                return;
+            }
+            reader.next();
+            String actual = token == JsonStreamReader.Token.NULL ? null : reader.getText();
+            if (reader.isTruncated()) {
+                mismatch(path + " field " + name + " is too long to compare, expected " + expected);
+            } else if (!Objects.equals(expected, actual)) {
+                mismatch(path + " field " + name + " expected " + expected + " but was " + actual);
+            }
+        }
+
+        private void skipRest(JsonStreamReader reader) throws IOException {
+            int depth = reader.getDepth();
+            while (reader.getDepth() >= depth) {
+                reader.next();
+            }
+        }
+
+        private void mismatch(String message) {
+            if (mismatchCount++ < MAX_REPORTED) {
+                mismatches.add(message);
+            }
+        }
     }
 }
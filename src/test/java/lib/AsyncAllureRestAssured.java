@@ -0,0 +1,79 @@
+package lib;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class AsyncAllureRestAssured implements Filter {
+    private final AllureAttachmentWriter writer;
+    private final int bodyLimit;
+    private final double oversizeSampleRate;
+
+    public AsyncAllureRestAssured() {
+        this(AllureAttachmentWriter.getInstance(),
+                Integer.getInteger("learnqa.allure.bodyLimit", 64 * 1024),
+                Double.parseDouble(System.getProperty("learnqa.allure.oversizeSampleRate", "0")));
+    }
+
+    public AsyncAllureRestAssured(AllureAttachmentWriter writer, int bodyLimit, double oversizeSampleRate) {
+        this.writer = writer;
+        this.bodyLimit = bodyLimit;
+        this.oversizeSampleRate = oversizeSampleRate;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        boolean attach = lifecycle.getCurrentTestCaseOrStep().isPresent();
+
+        String requestLine = requestSpec.getMethod() + " " + requestSpec.getURI();
+        String requestHeaders = render(requestSpec.getHeaders().asList());
+        Object body = requestSpec.getBody();
+        String requestBody = body == null ? ""
+                : body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : String.valueOf(body);
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (!attach) {
+            return response;
+        }
+
+        byte[] responseBody = response.asByteArray();
+        String statusLine = response.getStatusLine();
+        String responseHeaders = render(response.getHeaders().asList());
+        boolean keepWhole = oversizeSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < oversizeSampleRate;
+
+        writer.submit(lifecycle.prepareAttachment("Request", "text/plain", ".txt"), () ->
+                (requestLine + "\n" + requestHeaders + "\n" + truncate(requestBody, keepWhole))
+                        .getBytes(StandardCharsets.UTF_8));
+        writer.submit(lifecycle.prepareAttachment("Response " + response.statusCode(), "text/plain", ".txt"), () ->
+                (statusLine + "\n" + responseHeaders + "\n"
+                        + truncate(new String(responseBody, StandardCharsets.UTF_8), keepWhole))
+                        .getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+
+    private String truncate(String body, boolean keepWhole) {
+        if (keepWhole || body.length() <= bodyLimit) {
+            return body;
+        }
+        return body.substring(0, bodyLimit) + "\n... [truncated " + (body.length() - bodyLimit) + " chars]";
+    }
+
+    private static String render(Iterable<Header> headers) {
+        StringBuilder text = new StringBuilder();
+        for (Header header : headers) {
+            text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package lib;
+
+import io.restassured.response.Response;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+public class AsyncRequests {
+    private static final AsyncRequests INSTANCE = new AsyncRequests(
+            UserApiClient.getInstance(), Integer.getInteger("learnqa.async.maxInFlight", 64));
+    private static final CompletableFuture<Void> PERMIT = CompletableFuture.completedFuture(null);
+
+    private final UserApiClient userApiClient;
+    private final ExecutorService executor = LoadRunner.newVirtualThreadExecutor("async-requests");
+    private final Semaphore inFlight;
+    private final Queue<CompletableFuture<Void>> waiting = new ConcurrentLinkedQueue<>();
+
+    public AsyncRequests(UserApiClient userApiClient, int maxInFlight) {
+        this.userApiClient = userApiClient;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public static AsyncRequests getInstance() {
+        return INSTANCE;
+    }
+
+    public CompletableFuture<Response> get(String url, String token, String cookie) {
+        return send(new UserApiClient.ApiRequest("GET", endpointOf("GET", url), url, null, cookie, token));
+    }
+
+    public CompletableFuture<Response> post(String url, Map<String, String> body) {
+        return send(new UserApiClient.ApiRequest("POST", endpointOf("POST", url), url, body, null, null));
+    }
+
+    public CompletableFuture<Response> send(UserApiClient.ApiRequest request) {
+        String scope = HttpCassette.getScope();
+        Supplier<Response> call = AllocationProfiler.propagate(() -> {
+            HttpCassette.setScope(scope);
+            try {
+                return userApiClient.send(request);
+            } finally {
+                HttpCassette.clearScope();
+            }
+        });
+        return acquire()
+                .thenApplyAsync(ignored -> call.get(), executor)
+                .whenComplete((response, error) -> release());
+    }
+
+    public int getAvailablePermits() {
+        return inFlight.availablePermits();
+    }
+
+    private CompletableFuture<Void> acquire() {
+        if (inFlight.tryAcquire()) {
+            return PERMIT;
+        }
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        waiting.add(permit);
+        handOver();
+        return permit;
+    }
+
+    private void release() {
+        inFlight.release();
+        handOver();
+    }
+
+    private void handOver() {
+        while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+            CompletableFuture<Void> next = waiting.poll();
+            if (next == null) {
+                inFlight.release();
+            } else {
+                next.complete(null);
+            }
+        }
+    }
+
+    private static String endpointOf(String method, String url) {
+        String path = URI.create(url).getPath();
+        String last = path.substring(path.lastIndexOf('/') + 1);
+        if (last.equals("login") || last.equals("auth")) {
+            return last;
+        }
+        return method.equals("POST") ? "register" : "get";
+    }
+}
@@ -0,0 +1,11 @@
+package lib;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+public class CassetteFlushListener implements TestExecutionListener {
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        HttpCassette.closeInstalled();
+    }
+}
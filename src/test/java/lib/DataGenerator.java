@@ -1,38 +1,69 @@
 package lib;
 
-import java.text.SimpleDateFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 public class DataGenerator {
+    private static final String DEFAULT_PASSWORD = "123";
+    private static final String DEFAULT_NAME = "learnqa";
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     public static String getRandomEmail() {
-        String timestamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new java.util.Date());
-        return "learnqa" + timestamp + "@example.com";
-    }
-
-  public static Map<String, String> getRegistrationData() {
-        Map<String, String> data = new HashMap<>();
-        data.put("email", DataGenerator.getRandomEmail());
-        data.put("password", "123");
-        data.put("username", "learnqa");
-        data.put("firstName", "learnqa");
-        data.put("lastName", "learnqa");
-
-        return data;
-  }
-
-  public static Map<String, String> getGenerationData(Map<String, String> nonDefaultValues) {
-        Map<String, String> defaultValues = DataGenerator.getRegistrationData();
-
-        Map<String, String> userData = new HashMap<>();
-        String[] keys = {"email", "password", "username", "firstName", "lastName"};
-        for (String key: keys) {
-            if (nonDefaultValues.containsKey(key)) {
-                userData.put(key,nonDefaultValues.get(key));
-            } else {
-                userData.put(key, defaultValues.get(key));
-            }
+        return email(SEQUENCE.incrementAndGet());
+    }
+
+    public static UserData getUserData() {
+        return user(SEQUENCE.incrementAndGet());
+    }
+
+    public static Map<String, String> getRegistrationData() {
+        return getUserData().toMap();
+    }
+
+    public static Map<String, String> getGenerationData(Map<String, String> nonDefaultValues) {
+        return new UserData(
+                nonDefaultValues.containsKey("email") ? nonDefaultValues.get("email") : getRandomEmail(),
+                nonDefaultValues.getOrDefault("password", DEFAULT_PASSWORD),
+                nonDefaultValues.getOrDefault("username", DEFAULT_NAME),
+                nonDefaultValues.getOrDefault("firstName", DEFAULT_NAME),
+                nonDefaultValues.getOrDefault("lastName", DEFAULT_NAME)
+        ).toMap();
+    }
+
+    public static Stream<UserData> users(long count) {
+        checkCount(count);
+        long first = SEQUENCE.getAndAdd(count) + 1;
+        return LongStream.range(first, first + count).mapToObj(DataGenerator::user);
+    }
+
+    public static List<UserData> getUsers(int count) {
+        checkCount(count);
+        List<UserData> users = new ArrayList<>(count);
+        long first = SEQUENCE.getAndAdd(count) + 1;
+        for (long sequence = first; sequence < first + count; sequence++) {
+            users.add(user(sequence));
         }
-        return userData;
-  }
+        return users;
+    }
+
+    private static void checkCount(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("User count must not be negative: " + count);
+        }
+    }
+
+    private static UserData user(long sequence) {
+        return new UserData(email(sequence), DEFAULT_PASSWORD, DEFAULT_NAME, DEFAULT_NAME, DEFAULT_NAME);
+    }
+
+    private static String email(long sequence) {
+        return "learnqa" + RUN_ID + "." + sequence + "@example.com";
+    }
 }
@@ -0,0 +1,250 @@
+package lib;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+public class FaultProfile {
+    private static final String ANY_ENDPOINT = "*";
+
+    private final long seed;
+    private final Map<String, EndpointFaults> endpoints;
+
+    private FaultProfile(long seed, Map<String, EndpointFaults> endpoints) {
+        this.seed = seed;
+        this.endpoints = endpoints;
+    }
+
+    public static FaultProfile fromSystemProperties() {
+        String spec = System.getProperty("learnqa.stub.faults");
+        if (spec == null || spec.isEmpty()) {
+            return null;
+        }
+        if (spec.startsWith("@")) {
+            try {
+                spec = new String(Files.readAllBytes(Paths.get(spec.substring(1))), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read fault profile " + spec.substring(1), e);
+            }
+        }
+        return parse(spec, Long.getLong("learnqa.stub.faultSeed", 1));
+    }
+
+    public static FaultProfile parse(String spec, long seed) {
+        Map<String, EndpointFaults> endpoints = new HashMap<>();
+        for (String line : spec.split("[;\\n]")) {
+            String rule = line.replaceAll("#.*", "").trim();
+            if (rule.isEmpty()) {
+                continue;
+            }
+            int colon = rule.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Fault rule needs an endpoint: " + rule);
+            }
+            EndpointFaults faults = endpoints.computeIfAbsent(rule.substring(0, colon).trim(), key -> new EndpointFaults());
+            for (String setting : rule.substring(colon + 1).trim().split("\\s+")) {
+                faults.configure(setting);
+            }
+        }
+        return new FaultProfile(seed, endpoints);
+    }
+
+    public Decision decide(String endpoint) {
+        EndpointFaults faults = endpoints.getOrDefault(endpoint, endpoints.get(ANY_ENDPOINT));
+        if (faults == null) {
+            return Decision.NONE;
+        }
+        long sequence = faults.sequence.getAndIncrement();
+        SplittableRandom random = new SplittableRandom(seed
+                ^ endpoint.hashCode() * 0x9E3779B97F4A7C15L
+                ^ sequence * 0xBF58476D1CE4E5B9L);
+        return faults.decide(random, sequence);
+    }
+
+    public static final class Decision {
+        private static final Decision NONE = new Decision(0, 0, false, 0, 0);
+
+        private final long delayNanos;
+        private final int statusCode;
+        private final boolean reset;
+        private final int dripBytes;
+        private final long dripIntervalNanos;
+
+        private Decision(long delayNanos, int statusCode, boolean reset, int dripBytes, long dripIntervalNanos) {
+            this.delayNanos = delayNanos;
+            this.statusCode = statusCode;
+            this.reset = reset;
+            this.dripBytes = dripBytes;
+            this.dripIntervalNanos = dripIntervalNanos;
+        }
+
+        public long getDelayNanos() {
+            return delayNanos;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public boolean isReset() {
+            return reset;
+        }
+
+        public int getDripBytes() {
+            return dripBytes;
+        }
+
+        public long getDripIntervalNanos() {
+            return dripIntervalNanos;
+        }
+    }
+
+    private static final class EndpointFaults {
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicLong burstStart = new AtomicLong(-1);
+        private ToLongFunction<SplittableRandom> latency = random -> 0;
+        private double resetProbability;
+        private double errorProbability;
+        private int errorStatus = 500;
+        private double burstProbability;
+        private int burstLength;
+        private int burstStatus = 503;
+        private double dripProbability;
+        private int dripBytes;
+        private long dripIntervalNanos;
+        private double ratePerSecond;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private void configure(String setting) {
+            int equals = setting.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Fault setting needs a value: " + setting);
+            }
+            String key = setting.substring(0, equals);
+            String[] args = setting.substring(equals + 1).split(":");
+            switch (key) {
+                case "latency":
+                    latency = parseLatency(setting.substring(equals + 1));
+                    break;
+                case "reset":
+                    resetProbability = Double.parseDouble(args[0]);
+                    break;
+                case "error":
+                    errorProbability = Double.parseDouble(args[0]);
+                    errorStatus = args.length > 1 ? Integer.parseInt(args[1]) : errorStatus;
+                    break;
+                case "burst":
+                    burstProbability = Double.parseDouble(args[0]);
+                    burstLength = Integer.parseInt(args[1]);
+                    burstStatus = args.length > 2 ? Integer.parseInt(args[2]) : burstStatus;
+                    break;
+                case "drip":
+                    dripProbability = Double.parseDouble(args[0]);
+                    dripBytes = Integer.parseInt(args[1]);
+                    dripIntervalNanos = parseNanos(args[2]);
+                    break;
+                case "ratelimit":
+                    ratePerSecond = Double.parseDouble(args[0]);
+                    tokens = ratePerSecond;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown fault setting " + key);
+            }
+        }
+
+        private Decision decide(SplittableRandom random, long sequence) {
+            long delay = latency.applyAsLong(random);
+            double resetDraw = random.nextDouble();
+            double errorDraw = random.nextDouble();
+            double burstDraw = random.nextDouble();
+            double dripDraw = random.nextDouble();
+
+            long start = burstStart.get();
+            int status = 0;
+            if (ratePerSecond > 0 && !tryAcquire()) {
+                status = 429;
+            } else if (start >= 0 && sequence >= start && sequence - start < burstLength) {
+                status = burstStatus;
+            } else if (burstDraw < burstProbability) {
+                burstStart.accumulateAndGet(sequence, Math::max);
+                status = burstStatus;
+            } else if (errorDraw < errorProbability) {
+                status = errorStatus;
+            }
+
+            boolean reset = status == 0 && resetDraw < resetProbability;
+            boolean drip = dripDraw < dripProbability;
+            return new Decision(delay, status, reset, drip ? dripBytes : 0, drip ? dripIntervalNanos : 0);
+        }
+
+        private synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(ratePerSecond, tokens + (now - refilledAt) * ratePerSecond / TimeUnit.SECONDS.toNanos(1));
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    private static ToLongFunction<SplittableRandom> parseLatency(String value) {
+        int open = value.indexOf('(');
+        if (open < 0 || !value.endsWith(")")) {
+            long fixed = parseNanos(value);
+            return random -> fixed;
+        }
+        String name = value.substring(0, open);
+        String[] args = value.substring(open + 1, value.length() - 1).split(",");
+        switch (name) {
+            case "fixed":
+                long fixed = parseNanos(args[0]);
+                return random -> fixed;
+            case "uniform":
+                long low = parseNanos(args[0]);
+                long high = parseNanos(args[1]);
+                return random -> low + (long) (random.nextDouble() * (high - low));
+            case "exp":
+                double mean = parseNanos(args[0]);
+                return random -> (long) (-mean * Math.log(1 - random.nextDouble()));
+            case "lognormal":
+                double median = parseNanos(args[0]);
+                double sigma = Double.parseDouble(args[1]);
+                return random -> (long) (median * Math.exp(sigma * gaussian(random)));
+            case "pareto":
+                double minimum = parseNanos(args[0]);
+                double alpha = Double.parseDouble(args[1]);
+                return random -> (long) (minimum / Math.pow(1 - random.nextDouble(), 1 / alpha));
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution " + name);
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static long parseNanos(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return (long) (Double.parseDouble(trimmed.substring(0, trimmed.length() - 2)) * 1_000_000);
+        }
+        if (trimmed.endsWith("us")) {
+            return (long) (Double.parseDouble(trimmed.substring(0, trimmed.length() - 2)) * 1_000);
+        }
+        if (trimmed.endsWith("s")) {
+            return (long) (Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * 1_000_000_000);
+        }
+        return (long) (Double.parseDouble(trimmed) * 1_000_000);
+    }
+}
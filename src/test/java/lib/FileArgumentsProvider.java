@@ -0,0 +1,338 @@
+package lib;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class FileArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<FileSource> {
+    private static final long LIMIT = Long.getLong("learnqa.data.limit", Long.MAX_VALUE);
+
+    private FileSource source;
+
+    @Override
+    public void accept(FileSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws IOException {
+        String location = source.value();
+        RecordParser parser = location.endsWith(".jsonl") || location.endsWith(".ndjson")
+                ? new JsonLinesParser(source.columns())
+                : new CsvParser(source.delimiter(), source.header(), source.columns());
+        LineSource lines = open(location, source.mmap(), context.getRequiredTestClass().getClassLoader());
+
+        Stream<Arguments> arguments = StreamSupport.stream(
+                new Spliterators.AbstractSpliterator<Arguments>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                    @Override
+                    public boolean tryAdvance(Consumer<? super Arguments> action) {
+                        Object[] values;
+                        try {
+                            values = parser.next(lines);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Unable to read test data " + location
+                                    + " at line " + lines.lineNumber, e);
+                        }
+                        if (values == null) {
+                            return false;
+                        }
+                        action.accept(Arguments.of(values));
+                        return true;
+                    }
+                }, false)
+                .onClose(() -> {
+                    try {
+                        lines.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unable to close test data " + location, e);
+                    }
+                });
+        return LIMIT == Long.MAX_VALUE ? arguments : arguments.limit(LIMIT);
+    }
+
+    private static LineSource open(String location, boolean mmap, ClassLoader loader) throws IOException {
+        Path path = Paths.get(location);
+        if (!Files.isRegularFile(path)) {
+            URL resource = loader.getResource(location);
+            if (resource == null) {
+                throw new IllegalArgumentException("Test data " + location + " is neither a file nor a classpath resource");
+            }
+            if (!resource.getProtocol().equals("file")) {
+                return new ReaderLines(resource.openStream());
+            }
+            try {
+                path = Paths.get(resource.toURI());
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid test data location " + resource, e);
+            }
+        }
+        return mmap ? new MappedLines(path) : new ReaderLines(Files.newInputStream(path));
+    }
+
+    private static String nextRecordLine(LineSource lines) throws IOException {
+        String line = lines.nextLine();
+        while (line != null && (line.isBlank() || line.startsWith("#"))) {
+            line = lines.nextLine();
+        }
+        return line;
+    }
+
+    private interface RecordParser {
+        Object[] next(LineSource lines) throws IOException;
+    }
+
+    private static final class CsvParser implements RecordParser {
+        private final char delimiter;
+        private final boolean header;
+        private final String[] columns;
+        private int[] indexes;
+        private boolean started;
+
+        private CsvParser(char delimiter, boolean header, String[] columns) {
+            if (columns.length > 0 && !header) {
+                throw new IllegalArgumentException("Selecting CSV columns by name needs a header row");
+            }
+            this.delimiter = delimiter;
+            this.header = header;
+            this.columns = columns;
+        }
+
+        @Override
+        public Object[] next(LineSource lines) throws IOException {
+            if (!started) {
+                started = true;
+                if (header) {
+                    List<String> names = read(lines);
+                    if (names == null) {
+                        return null;
+                    }
+                    indexes = indexesOf(names);
+                }
+            }
+
+            List<String> fields = read(lines);
+            if (fields == null) {
+                return null;
+            }
+            if (indexes == null) {
+                return fields.toArray();
+            }
+            Object[] values = new Object[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                if (indexes[i] >= fields.size()) {
+                    throw new IOException("Expected at least " + (indexes[i] + 1) + " fields, found " + fields.size());
+                }
+                values[i] = fields.get(indexes[i]);
+            }
+            return values;
+        }
+
+        private int[] indexesOf(List<String> names) {
+            if (columns.length == 0) {
+                return null;
+            }
+            int[] result = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                result[i] = names.indexOf(columns[i]);
+                if (result[i] < 0) {
+                    throw new IllegalArgumentException("Column '" + columns[i] + "' is not in the header " + names);
+                }
+            }
+            return result;
+        }
+
+        private List<String> read(LineSource lines) throws IOException {
+            String line = nextRecordLine(lines);
+            if (line == null) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        fields.add(wasQuoted ? field.toString() : field.toString().trim());
+                        return fields;
+                    }
+                    line = lines.nextLine();
+                    if (line == null) {
+                        throw new IOException("Unterminated quoted field");
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == delimiter) {
+                    fields.add(wasQuoted ? field.toString() : field.toString().trim());
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else if (c == '"' && !wasQuoted && field.toString().isBlank()) {
+                    field.setLength(0);
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (!wasQuoted || !Character.isWhitespace(c)) {
+                    field.append(c);
+                }
+            }
+        }
+    }
+
+    private static final class JsonLinesParser implements RecordParser {
+        private final String[] columns;
+
+        private JsonLinesParser(String[] columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public Object[] next(LineSource lines) throws IOException {
+            String line = nextRecordLine(lines);
+            if (line == null) {
+                return null;
+            }
+
+            JsonStreamReader reader = new JsonStreamReader(new StringReader(line));
+            if (reader.next() != JsonStreamReader.Token.BEGIN_OBJECT) {
+                throw new IOException("Expected a JSON object per line");
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            while (reader.peek() == JsonStreamReader.Token.NAME) {
+                reader.next();
+                String name = reader.getText();
+                JsonStreamReader.Token token = reader.peek();
+                if (token == JsonStreamReader.Token.BEGIN_OBJECT || token == JsonStreamReader.Token.BEGIN_ARRAY) {
+                    if (columns.length == 0 || Arrays.asList(columns).contains(name)) {
+                        throw new IOException("Field '" + name + "' is not a scalar value");
+                    }
+                    reader.skipValue();
+                    continue;
+                }
+                reader.next();
+                fields.put(name, token == JsonStreamReader.Token.NULL ? null : reader.getText());
+            }
+            if (reader.next() != JsonStreamReader.Token.END_OBJECT) {
+                throw new IOException("Expected a JSON object per line");
+            }
+
+            if (columns.length == 0) {
+                return fields.values().toArray();
+            }
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = fields.get(columns[i]);
+            }
+            return values;
+        }
+    }
+
+    private abstract static class LineSource implements Closeable {
+        private long lineNumber;
+
+        String nextLine() throws IOException {
+            String line = readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        }
+
+        abstract String readLine() throws IOException;
+    }
+
+    private static final class ReaderLines extends LineSource {
+        private final BufferedReader reader;
+
+        private ReaderLines(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        String readLine() throws IOException {
+            return reader.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class MappedLines extends LineSource {
+        private final MappedByteBuffer buffer;
+
+        private MappedLines(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException(path + " is too large to map (" + size + " bytes)");
+                }
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+
+        @Override
+        String readLine() {
+            int start = buffer.position();
+            int limit = buffer.limit();
+            if (start == limit) {
+                return null;
+            }
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            buffer.position(end < limit ? end + 1 : end);
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            return StandardCharsets.UTF_8.decode(buffer.slice(start, end - start)).toString();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package lib;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(FileArgumentsProvider.class)
+public @interface FileSource {
+    String value();
+
+    String[] columns() default {};
+
+    char delimiter() default ',';
+
+    boolean header() default true;
+
+    boolean mmap() default false;
+}
@@ -0,0 +1,453 @@
+package lib;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class HttpCassette implements Filter {
+    private static final Pattern GENERATED_EMAIL = Pattern.compile("learnqa[0-9a-z]+\\.\\d+@example\\.com");
+    private static final Pattern EMAIL_TEMPLATE = Pattern.compile("\\{\\{email:(\\d+)}}");
+    private static final Pattern CREATED_ID = Pattern.compile("\"id\":\"(\\d+)\"");
+    private static final Pattern RECORDED_ID = Pattern.compile("\"id\":\"\\{\\{id:(\\d+)}}\"");
+    private static final Pattern USER_ID = Pattern.compile("\"(id|user_id)\":(\"?)(\\d+)\\2");
+    private static final Pattern AUTH_SID = Pattern.compile("auth_sid=([^;\\s]+)");
+    private static final Pattern VALUE_TEMPLATE = Pattern.compile("\\{\\{(id|sid|csrf):([^}]+)}}");
+    private static final int FIRST_REPLAYED_ID = 1_000_000_000;
+    private static final String ANY_SCOPE = "*";
+    private static final ThreadLocal<String> SCOPE = new ThreadLocal<>();
+    private static volatile HttpCassette installed;
+
+    public enum Mode { RECORD, REPLAY }
+
+    private final Mode mode;
+    private final Path file;
+    private final ConcurrentHashMap<String, String> recordedEmails = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> replayedEmails = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentLinkedDeque<Integer>> index = new ConcurrentHashMap<>();
+    private final Set<Integer> replayed = ConcurrentHashMap.newKeySet();
+    private final Set<String> createdIds = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, String> boundValues = new ConcurrentHashMap<>();
+    private final Set<String> replayedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextId = new AtomicInteger(FIRST_REPLAYED_ID);
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    public HttpCassette(Mode mode, Path file) throws IOException {
+        this.mode = mode;
+        this.file = file;
+        if (mode == Mode.RECORD) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            }
+            buildIndex();
+        }
+    }
+
+    public static HttpCassette fromSystemProperties() {
+        String mode = System.getProperty("learnqa.cassette.mode", "off");
+        if (mode.equals("off")) {
+            return null;
+        }
+        try {
+            installed = new HttpCassette(Mode.valueOf(mode.toUpperCase()),
+                    Paths.get(System.getProperty("learnqa.cassette.file", "target/cassettes/user-api.cassette")));
+            return installed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open cassette", e);
+        }
+    }
+
+    public static void closeInstalled() {
+        HttpCassette cassette = installed;
+        if (cassette != null) {
+            cassette.close();
+        }
+    }
+
+    public synchronized void close() {
+        if (channel == null || !channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close cassette " + file, e);
+        }
+    }
+
+    public static void setScope(String scope) {
+        SCOPE.set(scope);
+    }
+
+    public static String getScope() {
+        return SCOPE.get();
+    }
+
+    public static void clearScope() {
+        SCOPE.remove();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String body = bodyOf(requestSpec.getBody());
+        URI uri = URI.create(requestSpec.getURI());
+        String key = requestSpec.getMethod() + " " + templatedPath(uri.getRawPath())
+                + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery())
+                + " " + hash(canonicalJson(GENERATED_EMAIL.matcher(body).replaceAll("{{email}}")));
+
+        if (mode == Mode.REPLAY) {
+            return replay(key, body);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        record(key, body, response, requestSpec.getMethod().equals("POST") && uri.getRawPath().matches(".*/user/?"));
+        return response;
+    }
+
+    private Response replay(String key, String requestBody) {
+        Integer offset = take(scoped(key));
+        if (offset == null) {
+            offset = take(key + " " + ANY_SCOPE);
+        }
+        if (offset == null) {
+            throw new IllegalStateException("No recorded exchange in " + file + " for " + key);
+        }
+
+        ByteBuffer entry = mapped.duplicate();
+        entry.position(offset);
+        readString(entry);
+        int statusCode = entry.getInt();
+        int headerCount = entry.getInt();
+        List<Header> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new Header(readString(entry), bindValues(readString(entry))));
+        }
+        String responseBody = readString(entry);
+
+        Matcher email = GENERATED_EMAIL.matcher(requestBody);
+        Matcher id = RECORDED_ID.matcher(responseBody);
+        if (email.find() && id.find()) {
+            replayedEmails.put(id.group(1), email.group());
+        }
+        Matcher template = EMAIL_TEMPLATE.matcher(responseBody);
+        StringBuilder resolved = new StringBuilder();
+        while (template.find()) {
+            template.appendReplacement(resolved,
+                    Matcher.quoteReplacement(replayedEmails.getOrDefault(template.group(1), template.group())));
+        }
+        template.appendTail(resolved);
+
+        return buildResponse(statusCode, headers,
+                bindValues(resolved.toString()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Response buildResponse(int statusCode, List<Header> headers, byte[] body) {
+        List<Cookie> cookies = new ArrayList<>();
+        String contentType = "text/plain";
+        for (Header header : headers) {
+            if (header.getName().equalsIgnoreCase("Set-Cookie")) {
+                for (HttpCookie cookie : HttpCookie.parse(header.getValue())) {
+                    cookies.add(new Cookie.Builder(cookie.getName(), cookie.getValue()).build());
+                }
+            } else if (header.getName().equalsIgnoreCase("Content-Type")) {
+                contentType = header.getValue();
+            }
+        }
+
+        return new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setHeaders(new Headers(headers))
+                .setCookies(new Cookies(cookies))
+                .setContentType(contentType)
+                .setBody(body)
+                .build();
+    }
+
+    private void record(String key, String requestBody, Response response, boolean register) {
+        String responseBody = response.asString();
+        Matcher email = GENERATED_EMAIL.matcher(requestBody);
+        Matcher id = CREATED_ID.matcher(responseBody);
+        if (register && id.find()) {
+            createdIds.add(id.group(1));
+            if (email.find()) {
+                recordedEmails.put(email.group(), id.group(1));
+            }
+        }
+        Matcher generated = GENERATED_EMAIL.matcher(responseBody);
+        StringBuilder templated = new StringBuilder();
+        while (generated.find()) {
+            String userId = recordedEmails.get(generated.group());
+            generated.appendReplacement(templated,
+                    Matcher.quoteReplacement(userId == null ? generated.group() : "{{email:" + userId + "}}"));
+        }
+        generated.appendTail(templated);
+
+        Matcher ids = USER_ID.matcher(templated.toString());
+        StringBuilder body = new StringBuilder(templated.length() + 32);
+        while (ids.find()) {
+            ids.appendReplacement(body, Matcher.quoteReplacement(!createdIds.contains(ids.group(3))
+                    ? ids.group()
+                    : "\"" + ids.group(1) + "\":" + ids.group(2) + "{{id:" + ids.group(3) + "}}" + ids.group(2)));
+        }
+        ids.appendTail(body);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + body.length());
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeString(out, scoped(key));
+            out.writeInt(response.statusCode());
+            List<Header> headers = response.getHeaders().asList();
+            out.writeInt(headers.size());
+            for (Header header : headers) {
+                writeString(out, header.getName());
+                writeString(out, templateHeader(header));
+            }
+            writeString(out, body.toString());
+            synchronized (this) {
+                channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to cassette " + file, e);
+        }
+    }
+
+    private String templateHeader(Header header) {
+        if (header.getName().equalsIgnoreCase("x-csrf-token")) {
+            return "{{csrf:" + header.getValue() + "}}";
+        }
+        if (header.getName().equalsIgnoreCase("Set-Cookie")) {
+            return AUTH_SID.matcher(header.getValue()).replaceAll("auth_sid={{sid:$1}}");
+        }
+        return header.getValue();
+    }
+
+    private String bindValues(String value) {
+        Matcher template = VALUE_TEMPLATE.matcher(value);
+        StringBuilder bound = new StringBuilder(value.length());
+        while (template.find()) {
+            String kind = template.group(1);
+            String recorded = template.group(2);
+            String fresh = boundValues.computeIfAbsent(kind + ":" + recorded, key -> {
+                if (!kind.equals("id")) {
+                    return UUID.randomUUID().toString().replace("-", "");
+                }
+                String id = String.valueOf(nextId.getAndIncrement());
+                replayedIds.add(id);
+                return id;
+            });
+            template.appendReplacement(bound, Matcher.quoteReplacement(fresh));
+        }
+        template.appendTail(bound);
+        return bound.toString();
+    }
+
+    private String templatedPath(String path) {
+        Set<String> ids = mode == Mode.REPLAY ? replayedIds : createdIds;
+        if (ids.isEmpty()) {
+            return path;
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ids.contains(segments[i])) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private void buildIndex() {
+        ByteBuffer buffer = mapped.duplicate();
+        while (buffer.hasRemaining()) {
+            int offset = buffer.position();
+            String scopedKey = readString(buffer);
+            buffer.position(buffer.position() + 4);
+            int headerCount = buffer.getInt();
+            for (int i = 0; i < headerCount * 2; i++) {
+                skipString(buffer);
+            }
+            skipString(buffer);
+
+            index.computeIfAbsent(scopedKey, key -> new ConcurrentLinkedDeque<>()).add(offset);
+            String anyScope = scopedKey.substring(0, scopedKey.lastIndexOf(' ')) + " " + ANY_SCOPE;
+            index.computeIfAbsent(anyScope, key -> new ConcurrentLinkedDeque<>()).add(offset);
+        }
+    }
+
+    private Integer take(String key) {
+        ConcurrentLinkedDeque<Integer> offsets = index.get(key);
+        if (offsets == null) {
+            return null;
+        }
+        for (Integer offset = offsets.pollFirst(); offset != null; offset = offsets.pollFirst()) {
+            if (replayed.add(offset)) {
+                return offset;
+            }
+        }
+        return null;
+    }
+
+    private static String scoped(String key) {
+        String scope = SCOPE.get();
+        return key + " " + (scope == null ? "-" : scope.replace(' ', '_'));
+    }
+
+    private static String bodyOf(Object body) {
+        if (body == null) {
+            return "";
+        }
+        return body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : String.valueOf(body);
+    }
+
+    private static String canonicalJson(String body) {
+        String trimmed = body.trim();
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return body;
+        }
+        try (JsonStreamReader reader = new JsonStreamReader(new StringReader(trimmed))) {
+            StringBuilder canonical = new StringBuilder(trimmed.length());
+            writeCanonical(reader, canonical);
+            reader.next();
+            return canonical.toString();
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private static void writeCanonical(JsonStreamReader reader, StringBuilder out) throws IOException {
+        JsonStreamReader.Token token = reader.next();
+        switch (token) {
+            case BEGIN_OBJECT:
+                TreeMap<String, String> fields = new TreeMap<>();
+                while (reader.peek() == JsonStreamReader.Token.NAME) {
+                    reader.next();
+                    String name = reader.getText();
+                    StringBuilder value = new StringBuilder();
+                    writeCanonical(reader, value);
+                    fields.put(name, value.toString());
+                }
+                reader.next();
+                out.append('{');
+                String separator = "";
+                for (Map.Entry<String, String> field : fields.entrySet()) {
+                    out.append(separator);
+                    quote(field.getKey(), out);
+                    out.append(':').append(field.getValue());
+                    separator = ",";
+                }
+                out.append('}');
+                break;
+            case BEGIN_ARRAY:
+                out.append('[');
+                while (reader.peek() != JsonStreamReader.Token.END_ARRAY) {
+                    if (out.charAt(out.length() - 1) != '[') {
+                        out.append(',');
+                    }
+                    writeCanonical(reader, out);
+                }
+                reader.next();
+                out.append(']');
+                break;
+            case STRING:
+                if (reader.isTruncated()) {
+                    throw new IOException("String value is too long to canonicalize");
+                }
+                quote(reader.getText(), out);
+                break;
+            case NUMBER:
+            case BOOLEAN:
+            case NULL:
+                out.append(reader.getText());
+                break;
+            default:
+                throw new IOException("Unexpected " + token);
+        }
+    }
+
+    private static void quote(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        buffer.position(buffer.position() + length);
+    }
+}
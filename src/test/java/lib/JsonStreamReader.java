@@ -0,0 +1,287 @@
+package lib;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+public final class JsonStreamReader implements Closeable {
+    public enum Token { BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT }
+
+    private static final int MAX_TEXT = 64 * 1024;
+    private static final byte EMPTY_OBJECT = 1;
+    private static final byte DANGLING_NAME = 2;
+    private static final byte NONEMPTY_OBJECT = 3;
+    private static final byte EMPTY_ARRAY = 4;
+    private static final byte NONEMPTY_ARRAY = 5;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder text = new StringBuilder();
+    private byte[] stack = new byte[32];
+    private int depth;
+    private int pos;
+    private int limit;
+    private long offset;
+    private boolean capture = true;
+    private boolean truncated;
+    private boolean started;
+    private Token peeked;
+
+    public JsonStreamReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public Token peek() throws IOException {
+        if (peeked == null) {
+            peeked = read();
+        }
+        return peeked;
+    }
+
+    public Token next() throws IOException {
+        Token token = peek();
+        peeked = null;
+        return token;
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void skipValue() throws IOException {
+        capture = false;
+        try {
+            int nesting = 0;
+            do {
+                Token token = next();
+                if (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+                    nesting++;
+                } else if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+                    nesting--;
+                } else if (token == Token.END_DOCUMENT) {
+                    throw syntax("Unexpected end of document");
+                }
+            } while (nesting > 0);
+        } finally {
+            capture = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Token read() throws IOException {
+        int c = nextNonWhitespace();
+        text.setLength(0);
+        truncated = false;
+
+        if (depth == 0) {
+            if (c == -1) {
+                return Token.END_DOCUMENT;
+            }
+            if (started) {
+                throw syntax("Unexpected data after the document");
+            }
+            started = true;
+            return readValue(c);
+        }
+        if (c == -1) {
+            throw syntax("Unexpected end of document");
+        }
+
+        switch (stack[depth - 1]) {
+            case EMPTY_OBJECT:
+                if (c == '}') {
+                    depth--;
+                    return Token.END_OBJECT;
+                }
+                return readName(c);
+            case NONEMPTY_OBJECT:
+                if (c == '}') {
+                    depth--;
+                    return Token.END_OBJECT;
+                }
+                if (c != ',') {
+                    throw syntax("Expected ',' or '}'");
+                }
+                return readName(nextNonWhitespace());
+            case DANGLING_NAME:
+                if (c != ':') {
+                    throw syntax("Expected ':'");
+                }
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return readValue(nextNonWhitespace());
+            case EMPTY_ARRAY:
+                if (c == ']') {
+                    depth--;
+                    return Token.END_ARRAY;
+                }
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                return readValue(c);
+            default:
+                if (c == ']') {
+                    depth--;
+                    return Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntax("Expected ',' or ']'");
+                }
+                return readValue(nextNonWhitespace());
+        }
+    }
+
+    private Token readName(int c) throws IOException {
+        if (c != '"') {
+            throw syntax("Expected a field name");
+        }
+        readString(true);
+        stack[depth - 1] = DANGLING_NAME;
+        return Token.NAME;
+    }
+
+    private Token readValue(int c) throws IOException {
+        switch (c) {
+            case -1:
+                throw syntax("Unexpected end of document");
+            case '{':
+                push(EMPTY_OBJECT);
+                return Token.BEGIN_OBJECT;
+            case '[':
+                push(EMPTY_ARRAY);
+                return Token.BEGIN_ARRAY;
+            case '"':
+                readString(capture);
+                return Token.STRING;
+            case '}':
+            case ']':
+            case ',':
+            case ':':
+                throw syntax("Unexpected '" + (char) c + "'");
+            default:
+                return readLiteral(c);
+        }
+    }
+
+    private void push(byte context) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = context;
+    }
+
+    private void readString(boolean keep) throws IOException {
+        while (true) {
+            int c = nextChar();
+            if (c == -1) {
+                throw syntax("Unterminated string");
+            }
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = nextChar();
+                switch (c) {
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(nextChar(), 16);
+                            if (digit < 0) {
+                                throw syntax("Invalid unicode escape");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        c = code;
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    default:
+                        throw syntax("Invalid escape");
+                }
+            }
+            if (keep) {
+                if (text.length() < MAX_TEXT) {
+                    text.append((char) c);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+    }
+
+    private Token readLiteral(int first) throws IOException {
+        text.append((char) first);
+        while (true) {
+            int c = peekChar();
+            if (c == -1 || c == ',' || c == ':' || c == ']' || c == '}' || Character.isWhitespace(c)) {
+                break;
+            }
+            text.append((char) nextChar());
+            if (text.length() > MAX_TEXT) {
+                throw syntax("Literal is too long");
+            }
+        }
+
+        String literal = text.toString();
+        if (literal.equals("true") || literal.equals("false")) {
+            return Token.BOOLEAN;
+        }
+        if (literal.equals("null")) {
+            return Token.NULL;
+        }
+        if (first == '-' || (first >= '0' && first <= '9')) {
+            return Token.NUMBER;
+        }
+        throw syntax("Unexpected literal " + literal);
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = nextChar();
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = nextChar();
+        }
+        return c;
+    }
+
+    private int nextChar() throws IOException {
+        int c = peekChar();
+        if (c != -1) {
+            pos++;
+            offset++;
+        }
+        return c;
+    }
+
+    private int peekChar() throws IOException {
+        if (pos == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos];
+    }
+
+    private IOException syntax(String message) {
+        return new IOException(message + " at char " + offset);
+    }
+}
@@ -0,0 +1,138 @@
+package lib;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexOf(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = other.counts.get(i);
+            if (bucketCount != 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        max.accumulate(other.max.get());
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    public String encode() {
+        StringBuilder text = new StringBuilder()
+                .append(getCount()).append(' ').append(getSum()).append(' ').append(getMax());
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount != 0) {
+                text.append(' ').append(i).append(':').append(bucketCount);
+            }
+        }
+        return text.toString();
+    }
+
+    public static LatencyHistogram decode(String text) {
+        String[] parts = text.trim().split(" ");
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.count.add(Long.parseLong(parts[0]));
+        histogram.sum.add(Long.parseLong(parts[1]));
+        histogram.max.accumulate(Long.parseLong(parts[2]));
+        for (int i = 3; i < parts.length; i++) {
+            int colon = parts[i].indexOf(':');
+            histogram.counts.addAndGet(Integer.parseInt(parts[i].substring(0, colon)),
+                    Long.parseLong(parts[i].substring(colon + 1)));
+        }
+        return histogram;
+    }
+
+    public static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long top = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+
+    public String summary(TimeUnit unit) {
+        return String.format("count=%d p50=%.3f p99=%.3f p999=%.3f max=%.3f mean=%.3f (%s)",
+                getCount(),
+                convert(getValueAtPercentile(50), unit),
+                convert(getValueAtPercentile(99), unit),
+                convert(getValueAtPercentile(99.9), unit),
+                convert(getMax(), unit),
+                getMean() / unit.toNanos(1),
+                unit.name().toLowerCase());
+    }
+
+    private static double convert(long nanos, TimeUnit unit) {
+        return (double) nanos / unit.toNanos(1);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (top - HALF_SUB_BUCKETS);
+    }
+}
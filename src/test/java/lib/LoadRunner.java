@@ -0,0 +1,179 @@
+package lib;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+public class LoadRunner {
+    private static final int MAX_PLATFORM_THREADS = Integer.getInteger("learnqa.threads.max", 256);
+
+    private final double arrivalsPerSecond;
+    private final Duration duration;
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+
+    public LoadRunner(double arrivalsPerSecond, Duration duration) {
+        if (arrivalsPerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + arrivalsPerSecond);
+        }
+        this.arrivalsPerSecond = arrivalsPerSecond;
+        this.duration = duration;
+    }
+
+    public LoadRunner scenario(String name, Scenario scenario) {
+        scenarios.put(name, scenario);
+        return this;
+    }
+
+    public Report run() throws InterruptedException {
+        if (scenarios.isEmpty()) {
+            throw new IllegalStateException("No scenarios to run");
+        }
+
+        List<String> names = new ArrayList<>(scenarios.keySet());
+        Report report = new Report(names);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / arrivalsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        ExecutorService executor = newVirtualThreadExecutor("load-runner");
+        try {
+            long arrival = 0;
+            for (long intended = start; intended < end; intended = start + ++arrival * intervalNanos) {
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                String name = names.get((int) (arrival % names.size()));
+                long intendedStart = intended;
+                executor.execute(() -> report.execute(name, scenarios.get(name), intendedStart));
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+                report.complete = false;
+                executor.shutdownNow();
+            }
+            report.elapsedNanos = System.nanoTime() - start;
+        }
+        return report;
+    }
+
+    static ExecutorService newVirtualThreadExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threads = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PLATFORM_THREADS, MAX_PLATFORM_THREADS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scenario {
+        void run(Steps steps) throws Exception;
+    }
+
+    public interface Steps {
+        <T> T step(String name, Supplier<T> step);
+    }
+
+    public static class Report {
+        private final Map<String, LatencyHistogram> scenarioLatency = new LinkedHashMap<>();
+        private final Map<String, LongAdder> failures = new LinkedHashMap<>();
+        private final ConcurrentHashMap<String, LatencyHistogram> stepLatency = new ConcurrentHashMap<>();
+        private final Map<String, Throwable> firstFailures = new ConcurrentHashMap<>();
+        private volatile long elapsedNanos;
+        private volatile boolean complete = true;
+
+        private Report(List<String> names) {
+            for (String name : names) {
+                scenarioLatency.put(name, new LatencyHistogram());
+                failures.put(name, new LongAdder());
+            }
+        }
+
+        private void execute(String name, Scenario scenario, long intendedStart) {
+            try {
+                scenario.run(new Steps() {
+                    @Override
+                    public <T> T step(String stepName, Supplier<T> step) {
+                        long stepStart = System.nanoTime();
+                        try {
+                            return step.get();
+                        } finally {
+                            stepLatency.computeIfAbsent(stepName, key -> new LatencyHistogram())
+                                    .record(System.nanoTime() - stepStart);
+                        }
+                    }
+                });
+            } catch (Throwable e) {
+                failures.get(name).increment();
+                firstFailures.putIfAbsent(name, e);
+            } finally {
+                if (complete) {
+                    scenarioLatency.get(name).record(System.nanoTime() - intendedStart);
+                }
+            }
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public long getCompleted() {
+            return scenarioLatency.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+        }
+
+        public long getFailures() {
+            return failures.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        public Map<String, Throwable> getFirstFailures() {
+            return firstFailures;
+        }
+
+        public LatencyHistogram getStepLatency(String step) {
+            return stepLatency.get(step);
+        }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : getCompleted() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("completed=%d failed=%d throughput=%.1f/s elapsed=%.1fs%s%n",
+                    getCompleted(), getFailures(), getThroughput(), elapsedNanos / 1e9,
+                    complete ? "" : " (incomplete: scenarios still running at the deadline were cancelled)"));
+            for (Map.Entry<String, LatencyHistogram> entry : scenarioLatency.entrySet()) {
+                report.append(String.format("scenario %-12s failed=%d %s%n", entry.getKey(),
+                        failures.get(entry.getKey()).sum(), entry.getValue().summary(TimeUnit.MILLISECONDS)));
+            }
+            for (Map.Entry<String, LatencyHistogram> entry : stepLatency.entrySet()) {
+                report.append(String.format("step     %-12s %s%n", entry.getKey(),
+                        entry.getValue().summary(TimeUnit.MILLISECONDS)));
+            }
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package lib;
+
+import io.restassured.response.Response;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.protocol.ExecutionContext;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RequestPolicies implements UserApiClient.Interceptor {
+    private static final ThreadLocal<Integer> READ_TIMEOUT_MILLIS = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> CONNECT_TIMEOUT_MILLIS = new ThreadLocal<>();
+    private static final int DEFAULT_READ_TIMEOUT_MILLIS = Integer.getInteger("learnqa.http.readTimeout", 30000);
+    private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = Integer.getInteger("learnqa.http.connectTimeout", 10000);
+    private static final RequestPolicies INSTANCE = fromSystemProperties();
+
+    @SuppressWarnings("deprecation")
+    public static final HttpRequestInterceptor READ_TIMEOUT = (request, context) -> {
+        Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+        if (connection instanceof HttpConnection) {
+            Integer timeout = READ_TIMEOUT_MILLIS.get();
+            ((HttpConnection) connection).setSocketTimeout(timeout != null ? timeout : DEFAULT_READ_TIMEOUT_MILLIS);
+        }
+    };
+
+    private final Map<String, Policy> policies;
+    private final ConcurrentHashMap<String, LatencyHistogram> latency = new ConcurrentHashMap<>();
+    private final ExecutorService executor = LoadRunner.newVirtualThreadExecutor("request-hedge");
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    public RequestPolicies(Map<String, Policy> policies) {
+        this.policies = new HashMap<>(policies);
+    }
+
+    public static RequestPolicies getInstance() {
+        return INSTANCE;
+    }
+
+    public static RequestPolicies fromSystemProperties() {
+        int maxRetries = Integer.getInteger("learnqa.retry.max", 2);
+        long backoffMillis = Long.getLong("learnqa.retry.backoff", 100);
+        boolean hedge = Boolean.getBoolean("learnqa.hedge.enabled");
+        long hedgeDelayMillis = Long.getLong("learnqa.hedge.delay", 200);
+
+        Map<String, Policy> policies = new HashMap<>();
+        for (String endpoint : new String[] {"get", "auth"}) {
+            policies.put(endpoint, new Policy(
+                    Integer.getInteger("learnqa.connectTimeout." + endpoint, DEFAULT_CONNECT_TIMEOUT_MILLIS),
+                    Integer.getInteger("learnqa.timeout." + endpoint, 10000),
+                    maxRetries, backoffMillis, hedge, hedgeDelayMillis));
+        }
+        for (String endpoint : new String[] {"register", "login", "edit", "delete"}) {
+            policies.put(endpoint, new Policy(
+                    Integer.getInteger("learnqa.connectTimeout." + endpoint, DEFAULT_CONNECT_TIMEOUT_MILLIS),
+                    Integer.getInteger("learnqa.timeout." + endpoint, DEFAULT_READ_TIMEOUT_MILLIS),
+                    0, 0, false, 0));
+        }
+
+        RequestPolicies requestPolicies = new RequestPolicies(policies);
+        RequestTimings.counter("learnqa_request_retries_total", "Retried user API requests.", requestPolicies::getRetries);
+        RequestTimings.counter("learnqa_request_hedges_total", "Hedged user API requests sent.", requestPolicies::getHedges);
+        RequestTimings.counter("learnqa_request_hedges_won_total", "Hedged requests that answered first.", requestPolicies::getHedgesWon);
+        return requestPolicies;
+    }
+
+    @Override
+    public Response intercept(UserApiClient.ApiRequest request, UserApiClient.Chain chain) {
+        Policy policy = policies.get(request.getEndpoint());
+        if (policy == null) {
+            return chain.proceed(request);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Response response = policy.hedge
+                        ? hedged(request, chain, policy)
+                        : attempt(request, chain, policy);
+                if (attempt >= policy.maxRetries || !isRetryable(response)) {
+                    return response;
+                }
+            } catch (Exception e) {
+                if (attempt >= policy.maxRetries || !isRetryable(e)) {
+                    throw e;
+                }
+            }
+
+            retries.increment();
+            sleep(backoff(policy, attempt));
+        }
+    }
+
+    static Integer getConnectTimeoutMillis() {
+        return CONNECT_TIMEOUT_MILLIS.get();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestPolicies{retries=" + getRetries() + ", hedges=" + getHedges() + ", hedgesWon=" + getHedgesWon() + "}";
+    }
+
+    private Response attempt(UserApiClient.ApiRequest request, UserApiClient.Chain chain, Policy policy) {
+        Integer previous = READ_TIMEOUT_MILLIS.get();
+        Integer previousConnect = CONNECT_TIMEOUT_MILLIS.get();
+        READ_TIMEOUT_MILLIS.set(policy.readTimeoutMillis);
+        CONNECT_TIMEOUT_MILLIS.set(policy.connectTimeoutMillis);
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(request);
+            latency.computeIfAbsent(request.getEndpoint(), key -> new LatencyHistogram())
+                    .record(System.nanoTime() - start);
+            return response;
+        } finally {
+            if (previous == null) {
+                READ_TIMEOUT_MILLIS.remove();
+            } else {
+                READ_TIMEOUT_MILLIS.set(previous);
+            }
+            if (previousConnect == null) {
+                CONNECT_TIMEOUT_MILLIS.remove();
+            } else {
+                CONNECT_TIMEOUT_MILLIS.set(previousConnect);
+            }
+        }
+    }
+
+    private Response hedged(UserApiClient.ApiRequest request, UserApiClient.Chain chain, Policy policy) {
+        String scope = HttpCassette.getScope();
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        CompletableFuture<Response> primary = submit(request, chain, policy, scope);
+        primary.whenComplete((response, error) -> complete(winner, response, error, failures, false));
+        try {
+            return primary.get(hedgeDelayMillis(request.getEndpoint(), policy), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hedges.increment();
+            submit(request, chain, policy, scope)
+                    .whenComplete((response, error) -> complete(winner, response, error, failures, true));
+            return join(winner);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private CompletableFuture<Response> submit(UserApiClient.ApiRequest request, UserApiClient.Chain chain,
+                                               Policy policy, String scope) {
+        return CompletableFuture.supplyAsync(() -> {
+            HttpCassette.setScope(scope);
+            try {
+                return attempt(request, chain, policy);
+            } finally {
+                HttpCassette.clearScope();
+            }
+        }, executor);
+    }
+
+    private void complete(CompletableFuture<Response> winner, Response response, Throwable error,
+                          AtomicInteger failures, boolean hedge) {
+        if (error == null) {
+            if (winner.complete(response) && hedge) {
+                hedgesWon.increment();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private long hedgeDelayMillis(String endpoint, Policy policy) {
+        LatencyHistogram histogram = latency.get(endpoint);
+        if (histogram == null || histogram.getCount() < 20) {
+            return policy.hedgeDelayMillis;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(histogram.getValueAtPercentile(95)));
+    }
+
+    private static long backoff(Policy policy, int attempt) {
+        long ceiling = policy.backoffMillis << Math.min(attempt, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private static boolean isRetryable(Response Response) {
+        return Response.statusCode() >= 500 || Response.statusCode() == 429;
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+
+    private static Response join(CompletableFuture<Response> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return new CompletionException(error);
+    }
+
+    public static final class Policy {
+        private final int connectTimeoutMillis;
+        private final int readTimeoutMillis;
+        private final int maxRetries;
+        private final long backoffMillis;
+        private final boolean hedge;
+        private final long hedgeDelayMillis;
+
+        public Policy(int connectTimeoutMillis, int readTimeoutMillis, int maxRetries, long backoffMillis,
+                      boolean hedge, long hedgeDelayMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.readTimeoutMillis = readTimeoutMillis;
+            this.maxRetries = maxRetries;
+            this.backoffMillis = backoffMillis;
+            this.hedge = hedge;
+            this.hedgeDelayMillis = hedgeDelayMillis;
+        }
+    }
+}
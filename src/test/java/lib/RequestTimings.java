@@ -0,0 +1,342 @@
+package lib;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.DefaultedHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+public class RequestTimings {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final ConcurrentHashMap<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Timing> CURRENT = new ThreadLocal<>();
+    private static final AtomicBoolean EXPORT_REGISTERED = new AtomicBoolean();
+
+    public static final Filter FILTER = new TimingFilter();
+    public static final Filter SEND_FILTER = new SendTimingFilter();
+
+    public static final DnsResolver DNS_RESOLVER = host -> {
+        long start = System.nanoTime();
+        try {
+            return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+        } finally {
+            record("dns", System.nanoTime() - start);
+        }
+    };
+
+    public static final HttpRequestInterceptor REQUEST_SENT = (request, context) -> {
+        Timing timing = CURRENT.get();
+        if (timing != null) {
+            timing.sentAt = System.nanoTime();
+        }
+    };
+
+    public static final HttpResponseInterceptor RESPONSE_RECEIVED = (response, context) -> {
+        Timing timing = CURRENT.get();
+        if (timing != null && timing.sentAt != 0) {
+            timing.histogram("ttfb").record(System.nanoTime() - timing.sentAt);
+        }
+    };
+
+    @SuppressWarnings("deprecation")
+    public static SchemeRegistry timedSchemeRegistry() {
+        SchemeRegistry registry = new SchemeRegistry();
+        registry.register(new Scheme("http", 80, new TimedSocketFactory()));
+        registry.register(new Scheme("https", 443, new TimedLayeredSocketFactory(SSLSocketFactory.getSystemSocketFactory())));
+        return registry;
+    }
+
+    public static LatencyHistogram getHistogram(String method, String endpoint, String phase) {
+        return HISTOGRAMS.get(key(method, endpoint, phase));
+    }
+
+    public static void counter(String name, String help, LongSupplier value) {
+        COUNTERS.put(name, new Counter(help, value));
+    }
+
+    public static void exportOnShutdown() {
+        if (EXPORT_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                    export(Paths.get(System.getProperty("learnqa.metrics.dir", "target/metrics")))));
+        }
+    }
+
+    public static void export(Path directory) {
+        if (HISTOGRAMS.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("request-timings.json"), toJson().getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("request-timings.prom"), toPrometheus().getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("request-timings.hist"), toHistograms().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to export request timings to " + directory, e);
+        }
+    }
+
+    public static void merge(Path histograms) {
+        try {
+            for (String line : Files.readAllLines(histograms, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    HISTOGRAMS.computeIfAbsent(line.substring(0, tab), key -> new LatencyHistogram())
+                            .add(LatencyHistogram.decode(line.substring(tab + 1)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read request timings from " + histograms, e);
+        }
+    }
+
+    public static String toHistograms() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            text.append(entry.getKey()).append('\t').append(entry.getValue().encode()).append('\n');
+        }
+        return text.toString();
+    }
+
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("[");
+        String separator = "\n  ";
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            String[] parts = entry.getKey().split(" ", 3);
+            LatencyHistogram histogram = entry.getValue();
+            json.append(separator)
+                    .append("{\"method\":\"").append(parts[0])
+                    .append("\",\"endpoint\":\"").append(parts[1])
+                    .append("\",\"phase\":\"").append(parts[2])
+                    .append("\",\"count\":").append(histogram.getCount())
+                    .append(",\"meanMs\":").append(millis(histogram.getMean()))
+                    .append(",\"p50Ms\":").append(millis(histogram.getValueAtPercentile(50)))
+                    .append(",\"p99Ms\":").append(millis(histogram.getValueAtPercentile(99)))
+                    .append(",\"p999Ms\":").append(millis(histogram.getValueAtPercentile(99.9)))
+                    .append(",\"maxMs\":").append(millis(histogram.getMax()))
+                    .append('}');
+            separator = ",\n  ";
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    public static String toPrometheus() {
+        StringBuilder text = new StringBuilder()
+                .append("# HELP learnqa_request_phase_seconds Latency of user API request phases.\n")
+                .append("# TYPE learnqa_request_phase_seconds summary\n");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            String[] parts = entry.getKey().split(" ", 3);
+            String labels = "method=\"" + parts[0] + "\",endpoint=\"" + parts[1] + "\",phase=\"" + parts[2] + "\"";
+            LatencyHistogram histogram = entry.getValue();
+            for (double quantile : QUANTILES) {
+                text.append("learnqa_request_phase_seconds{").append(labels)
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            text.append("learnqa_request_phase_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(histogram.getSum())).append('\n');
+            text.append("learnqa_request_phase_seconds_count{").append(labels).append("} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            text.append("# HELP ").append(entry.getKey()).append(' ').append(entry.getValue().help).append('\n')
+                    .append("# TYPE ").append(entry.getKey()).append(" counter\n")
+                    .append(entry.getKey()).append(' ').append(entry.getValue().value.getAsLong()).append('\n');
+        }
+        return text.toString();
+    }
+
+    public static String endpointOf(String path) {
+        return path.replaceAll("/\\d+(?=/|$)", "/{id}");
+    }
+
+    public static void record(String method, String endpoint, String phase, long nanos) {
+        HISTOGRAMS.computeIfAbsent(key(method, endpoint, phase), key -> new LatencyHistogram()).record(nanos);
+    }
+
+    static void record(String phase, long nanos) {
+        Timing timing = CURRENT.get();
+        if (timing != null) {
+            timing.histogram(phase).record(nanos);
+        }
+    }
+
+    private static String key(String method, String endpoint, String phase) {
+        return method + " " + endpoint + " " + phase;
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static String seconds(double nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static final class Counter {
+        private final String help;
+        private final LongSupplier value;
+
+        private Counter(String help, LongSupplier value) {
+            this.help = help;
+            this.value = value;
+        }
+    }
+
+    private static final class Timing {
+        private final String method;
+        private final String endpoint;
+        private long sentAt;
+        private boolean sendTimed;
+
+        private Timing(String method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        private LatencyHistogram histogram(String phase) {
+            return HISTOGRAMS.computeIfAbsent(key(method, endpoint, phase), key -> new LatencyHistogram());
+        }
+    }
+
+    private static final class TimingFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            Timing timing = new Timing(requestSpec.getMethod(), endpointOf(URI.create(requestSpec.getURI()).getPath()));
+            Timing previous = CURRENT.get();
+            CURRENT.set(timing);
+            long start = System.nanoTime();
+            try {
+                return ctx.next(requestSpec, responseSpec);
+            } finally {
+                if (!timing.sendTimed) {
+                    timing.histogram("total").record(System.nanoTime() - start);
+                }
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private static final class SendTimingFilter implements OrderedFilter {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            Timing timing = CURRENT.get();
+            if (timing == null) {
+                return ctx.next(requestSpec, responseSpec);
+            }
+            timing.sendTimed = true;
+            long start = System.nanoTime();
+            try {
+                return ctx.next(requestSpec, responseSpec);
+            } finally {
+                timing.histogram("total").record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+        private final SchemeSocketFactory plain = PlainSocketFactory.getSocketFactory();
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return plain.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket sock, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            Integer connectTimeout = RequestPolicies.getConnectTimeoutMillis();
+            if (connectTimeout != null) {
+                params = new DefaultedHttpParams(new BasicHttpParams(), params);
+                HttpConnectionParams.setConnectionTimeout(params, connectTimeout);
+            }
+            long start = System.nanoTime();
+            Socket socket = plain.connectSocket(sock, remoteAddress, localAddress, params);
+            record("connect", System.nanoTime() - start);
+            return socket;
+        }
+
+        @Override
+        public boolean isSecure(Socket sock) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static final class TimedLayeredSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+        private final SchemeLayeredSocketFactory tls;
+
+        private TimedLayeredSocketFactory(SchemeLayeredSocketFactory tls) {
+            this.tls = tls;
+        }
+
+        @Override
+        public Socket connectSocket(Socket sock, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            Socket socket = super.connectSocket(sock, remoteAddress, localAddress, params);
+            String host = remoteAddress instanceof HttpInetSocketAddress
+                    ? ((HttpInetSocketAddress) remoteAddress).getHttpHost().getHostName()
+                    : remoteAddress.getHostString();
+            return createLayeredSocket(socket, host, remoteAddress.getPort(), params);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return tls.createLayeredSocket(socket, target, port, params);
+            } finally {
+                record("tls", System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket sock) {
+            return tls.isSecure(sock);
+        }
+    }
+}
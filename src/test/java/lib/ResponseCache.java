@@ -0,0 +1,181 @@
+package lib;
+
+import io.restassured.response.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ResponseCache implements UserApiClient.Interceptor {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries;
+    private final ConcurrentHashMap<String, Integer> identities = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(int maxEntries, long ttl, TimeUnit unit) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static ResponseCache fromSystemProperties() {
+        if (!Boolean.getBoolean("learnqa.cache.enabled")) {
+            return null;
+        }
+        ResponseCache cache = new ResponseCache(
+                Integer.getInteger("learnqa.cache.maxEntries", 256),
+                Long.getLong("learnqa.cache.ttl", 60), TimeUnit.SECONDS);
+        RequestTimings.counter("learnqa_cache_hits_total", "User lookups served from the response cache.", cache::getHits);
+        RequestTimings.counter("learnqa_cache_revalidations_total", "Cached user lookups revalidated with 304.", cache::getRevalidations);
+        RequestTimings.counter("learnqa_cache_misses_total", "User lookups that went to the server.", cache::getMisses);
+        RequestTimings.counter("learnqa_cache_invalidations_total", "Cached user lookups dropped by an edit or delete.", cache::getInvalidations);
+        return cache;
+    }
+
+    @Override
+    public Response intercept(UserApiClient.ApiRequest request, UserApiClient.Chain chain) {
+        if (request.getMethod().equals("PUT") || request.getMethod().equals("DELETE")) {
+            invalidate(request.getUrl());
+            try {
+                return chain.proceed(request);
+            } finally {
+                invalidate(request.getUrl());
+            }
+        }
+        if (request.getEndpoint().equals("login")) {
+            Response response = chain.proceed(request);
+            UserApiClient.LoginResult login = new UserApiClient.LoginResult(response);
+            if (login.isSuccess() && ResponseJson.of(response).has("user_id")
+                    && login.getAuthSid() != null && login.getCsrfToken() != null) {
+                identities.put(login.getAuthSid() + '\0' + login.getCsrfToken(), login.getUserId());
+            }
+            return response;
+        }
+        if (!request.getEndpoint().equals("get")) {
+            return chain.proceed(request);
+        }
+
+        String key = request.getUrl() + '\0' + identityOf(request);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null && System.nanoTime() - entry.storedAt < ttlNanos) {
+            hits.increment();
+            return entry.response;
+        }
+
+        UserApiClient.ApiRequest conditional = request;
+        if (entry != null && entry.etag != null) {
+            conditional = conditional.withHeader("If-None-Match", entry.etag);
+        }
+        if (entry != null && entry.lastModified != null) {
+            conditional = conditional.withHeader("If-Modified-Since", entry.lastModified);
+        }
+
+        long observed = generation.get();
+        Response response = chain.proceed(conditional);
+        if (response.statusCode() == 304 && entry != null) {
+            revalidations.increment();
+            store(key, entry.response, request.getUrl(), observed);
+            return entry.response;
+        }
+
+        misses.increment();
+        if (response.statusCode() == 200) {
+            response.asByteArray();
+            store(key, response, request.getUrl(), observed);
+        } else if (entry != null) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+        }
+        return response;
+    }
+
+    public void invalidate(String url) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            if (entries.values().removeIf(entry -> entry.url.equals(url))) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        identities.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{hits=" + getHits() + ", revalidations=" + getRevalidations()
+                + ", misses=" + getMisses() + ", invalidations=" + getInvalidations() + "}";
+    }
+
+    private String identityOf(UserApiClient.ApiRequest request) {
+        if (request.getAuthSid() == null && request.getCsrfToken() == null) {
+            return "anonymous";
+        }
+        Integer userId = identities.get(request.getAuthSid() + '\0' + request.getCsrfToken());
+        return userId != null
+                ? "user:" + userId
+                : "session:" + request.getAuthSid() + '\0' + request.getCsrfToken();
+    }
+
+    private void store(String key, Response response, String url, long observed) {
+        Entry entry = new Entry(url, response, response.getHeader("ETag"), response.getHeader("Last-Modified"));
+        synchronized (entries) {
+            if (generation.get() == observed) {
+                entries.put(key, entry);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String url;
+        private final Response response;
+        private final String etag;
+        private final String lastModified;
+        private final long storedAt = System.nanoTime();
+
+        private Entry(String url, Response response, String etag, String lastModified) {
+            this.url = url;
+            this.response = response;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package lib;
+
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class ResponseJson {
+    private static final int STRIPES = 64;
+    private static final Map<Response, ResponseJson>[] VIEWS = newViews();
+
+    private final Map<String, Object> fields;
+
+    private ResponseJson(Map<String, Object> fields) {
+        this.fields = fields;
+    }
+
+    public static ResponseJson of(Response Response) {
+        Map<Response, ResponseJson> views = VIEWS[System.identityHashCode(Response) & (STRIPES - 1)];
+        ResponseJson json = views.get(Response);
+        if (json != null) {
+            return json;
+        }
+        json = parse(Response);
+        ResponseJson previous = views.putIfAbsent(Response, json);
+        return previous != null ? previous : json;
+    }
+
+    public boolean isObject() {
+        return fields != null;
+    }
+
+    public boolean has(String name) {
+        return fields != null && fields.containsKey(name);
+    }
+
+    public Object get(String name) {
+        return fields == null ? null : fields.get(name);
+    }
+
+    public String getString(String name) {
+        Object value = get(name);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    public int getInt(String name) {
+        Object value = get(name);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        return Integer.parseInt(String.valueOf(value));
+    }
+
+    public Map<String, Object> getFields() {
+        return fields == null ? Collections.emptyMap() : Collections.unmodifiableMap(fields);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Response, ResponseJson>[] newViews() {
+        Map<Response, ResponseJson>[] views = (Map<Response, ResponseJson>[]) new Map<?, ?>[STRIPES];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = Collections.synchronizedMap(new WeakHashMap<>());
+        }
+        return views;
+    }
+
+    private static ResponseJson parse(Response Response) {
+        String body = Response.asString().trim();
+        if (!body.startsWith("{")) {
+            return new ResponseJson(null);
+        }
+        try {
+            return new ResponseJson(Response.jsonPath().getMap("$"));
+        } catch (RuntimeException e) {
+            return new ResponseJson(null);
+        }
+    }
+}
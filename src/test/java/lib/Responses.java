@@ -0,0 +1,33 @@
+package lib;
+
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class Responses {
+    private Responses() {
+    }
+
+    public static String getHeader(Response Response, String name) {
+        Headers headers = Response.getHeaders();
+
+        assertTrue(headers.hasHeaderWithName(name), "Response doesn't have header with name" + name);
+        return headers.getValue(name);
+    }
+
+    public static String getCookie(Response Response, String name) {
+        Map<String, String> cookies = Response.getCookies();
+
+        assertTrue(cookies.containsKey(name), "Response doesn't have cookie with name" + name);
+        return cookies.get(name);
+    }
+
+    public static int getIntFromJson(Response Response, String name) {
+        ResponseJson json = ResponseJson.of(Response);
+        assertTrue(json.has(name), "Response JSON doesn't have field " + name);
+        return json.getInt(name);
+    }
+}
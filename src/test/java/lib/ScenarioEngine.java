@@ -0,0 +1,165 @@
+package lib;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ScenarioEngine {
+    private final int parallelism;
+    private final ConcurrentHashMap<String, LatencyHistogram> stepLatency = new ConcurrentHashMap<>();
+
+    public ScenarioEngine(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public static Scenario scenario(String name) {
+        return new Scenario(name);
+    }
+
+    public List<Result> run(List<Scenario> scenarios) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scenario-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Result> results = new ArrayList<>(scenarios.size());
+            List<CompletableFuture<?>> completions = new ArrayList<>(scenarios.size());
+            for (Scenario scenario : scenarios) {
+                Result result = new Result(scenario.name);
+                results.add(result);
+                completions.add(schedule(scenario, result, executor));
+            }
+            CompletableFuture.allOf(completions.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(error -> null)
+                    .join();
+            return results;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    public LatencyHistogram getStepLatency(String step) {
+        return stepLatency.get(step);
+    }
+
+    private CompletableFuture<?> schedule(Scenario scenario, Result result, ExecutorService executor) {
+        Context context = new Context();
+        Map<String, CompletableFuture<Object>> steps = new LinkedHashMap<>();
+
+        for (StepDefinition definition : scenario.steps) {
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[definition.needs.length];
+            for (int i = 0; i < definition.needs.length; i++) {
+                dependencies[i] = steps.get(definition.needs[i]);
+            }
+
+            CompletableFuture<Object> step = CompletableFuture.allOf(dependencies).thenApplyAsync(ignored -> {
+                long start = System.nanoTime();
+                try {
+                    Object value = definition.step.run(context);
+                    context.values.put(definition.name, value == null ? Context.NULL : value);
+                    return value;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                } finally {
+                    stepLatency.computeIfAbsent(definition.name, key -> new LatencyHistogram())
+                            .record(System.nanoTime() - start);
+                }
+            }, executor);
+            steps.put(definition.name, step);
+        }
+
+        return CompletableFuture.allOf(steps.values().toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> result.failure = error instanceof CompletionException
+                        ? error.getCause()
+                        : error);
+    }
+
+    @FunctionalInterface
+    public interface Step {
+        Object run(Context context) throws Exception;
+    }
+
+    public static final class Scenario {
+        private final String name;
+        private final List<StepDefinition> steps = new ArrayList<>();
+
+        private Scenario(String name) {
+            this.name = name;
+        }
+
+        public Scenario step(String name, Step step, String... needs) {
+            for (String need : needs) {
+                if (steps.stream().noneMatch(definition -> definition.name.equals(need))) {
+                    throw new IllegalArgumentException("Step " + name + " needs undeclared step " + need);
+                }
+            }
+            if (steps.stream().anyMatch(definition -> definition.name.equals(name))) {
+                throw new IllegalArgumentException("Duplicate step " + name + " in scenario " + this.name);
+            }
+            steps.add(new StepDefinition(name, step, needs));
+            return this;
+        }
+    }
+
+    public static final class Context {
+        private static final Object NULL = new Object();
+
+        private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String name) {
+            Object value = values.get(name);
+            if (value == null) {
+                throw new IllegalStateException("Value " + name + " is not resolved yet");
+            }
+            return value == NULL ? null : (T) value;
+        }
+    }
+
+    public static final class Result {
+        private final String scenario;
+        private volatile Throwable failure;
+
+        private Result(String scenario) {
+            this.scenario = scenario;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return scenario + (failure == null ? ": ok" : ": " + failure);
+        }
+    }
+
+    private static final class StepDefinition {
+        private final String name;
+        private final Step step;
+        private final String[] needs;
+
+        private StepDefinition(String name, Step step, String[] needs) {
+            this.name = name;
+            this.step = step;
+            this.needs = needs;
+        }
+    }
+}
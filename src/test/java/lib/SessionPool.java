@@ -0,0 +1,157 @@
+package lib;
+
+import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class SessionPool {
+    private static final SessionPool INSTANCE = new SessionPool(
+            TimeUnit.SECONDS.toMillis(Long.getLong("learnqa.session.ttl", 300)));
+
+    private final ConcurrentHashMap<String, CompletableFuture<Session>> sessions = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder relogins = new LongAdder();
+
+    public SessionPool(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public static SessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    public Session getSession(String email, String password) {
+        String key = key(email, password);
+        while (true) {
+            CompletableFuture<Session> pending = new CompletableFuture<>();
+            CompletableFuture<Session> cached = sessions.putIfAbsent(key, pending);
+            if (cached == null) {
+                misses.increment();
+                try {
+                    pending.complete(login(email, password));
+                } catch (RuntimeException | Error e) {
+                    sessions.remove(key, pending);
+                    pending.completeExceptionally(e);
+                    throw e;
+                }
+                return pending.join();
+            }
+
+            Session session;
+            try {
+                session = cached.join();
+            } catch (CompletionException e) {
+                sessions.remove(key, cached);
+                continue;
+            }
+            if (session.isExpired()) {
+                sessions.remove(key, cached);
+                continue;
+            }
+            hits.increment();
+            return session;
+        }
+    }
+
+    public Response withSession(String email, String password, Function<Session, Response> request) {
+        Session session = getSession(email, password);
+        Response response = request.apply(session);
+        if (!isRejected(response)) {
+            return response;
+        }
+
+        invalidate(email, password, session);
+        relogins.increment();
+        return request.apply(getSession(email, password));
+    }
+
+    public void invalidate(String email, String password) {
+        sessions.remove(key(email, password));
+    }
+
+    public void clear() {
+        sessions.clear();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRelogins() {
+        return relogins.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "SessionPool{hits=" + getHits() + ", misses=" + getMisses() + ", relogins=" + getRelogins()
+                + ", cached=" + sessions.size() + "}";
+    }
+
+    private void invalidate(String email, String password, Session stale) {
+        sessions.computeIfPresent(key(email, password), (key, cached) ->
+                cached.isDone() && !cached.isCompletedExceptionally() && cached.join() == stale ? null : cached);
+    }
+
+    private Session login(String email, String password) {
+        Response responseGetAuth = UserApiClient.getInstance().login(email, password).getResponse();
+
+        return new Session(
+                Responses.getCookie(responseGetAuth, "auth_sid"),
+                Responses.getHeader(responseGetAuth, "x-csrf-token"),
+                Responses.getIntFromJson(responseGetAuth, "user_id"),
+                System.currentTimeMillis() + ttlMillis);
+    }
+
+    private static boolean isRejected(Response Response) {
+        if (Response.statusCode() == 401) {
+            return true;
+        }
+        String body = Response.asString();
+        return body.contains("\"user_id\":0") || body.contains("Auth token not supplied");
+    }
+
+    private static String key(String email, String password) {
+        return email + '\u0000' + password;
+    }
+
+    public static final class Session {
+        private final String authSid;
+        private final String csrfToken;
+        private final int userId;
+        private final long expiresAt;
+
+        Session(String authSid, String csrfToken, int userId, long expiresAt) {
+            this.authSid = authSid;
+            this.csrfToken = csrfToken;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getAuthSid() {
+            return authSid;
+        }
+
+        public String getCsrfToken() {
+            return csrfToken;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
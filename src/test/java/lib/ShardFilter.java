@@ -0,0 +1,102 @@
+package lib;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+public class ShardFilter implements PostDiscoveryFilter {
+    private final int count = Integer.getInteger("learnqa.shard.count", 1);
+    private final int index = Integer.getInteger("learnqa.shard.index", 0);
+    private final String strategy = System.getProperty("learnqa.shard.strategy", "hash");
+    private final ConcurrentHashMap<String, Map<String, Integer>> assignments = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (count <= 1 || !isUnit(descriptor)) {
+            return FilterResult.included("not sharded");
+        }
+
+        int shard = strategy.equals("duration")
+                ? byDuration(descriptor).get(descriptor.getUniqueId().toString())
+                : byHash(keyOf(descriptor));
+        return FilterResult.includedIf(shard == index,
+                () -> "assigned to shard " + index,
+                () -> "assigned to shard " + shard);
+    }
+
+    public static int shardOf(String key, int count) {
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % count);
+    }
+
+    private int byHash(String key) {
+        return shardOf(key, count);
+    }
+
+    private Map<String, Integer> byDuration(TestDescriptor descriptor) {
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+
+        TestDescriptor engine = root;
+        return assignments.computeIfAbsent(engine.getUniqueId().toString(), id -> {
+            TestDurations durations = TestDurations.getInstance();
+            List<TestDescriptor> units = engine.getDescendants().stream()
+                    .filter(ShardFilter::isUnit)
+                    .collect(Collectors.toList());
+            long known = units.stream()
+                    .mapToLong(unit -> durations.getMillis(keyOf(unit)))
+                    .filter(millis -> millis != Long.MAX_VALUE)
+                    .sum();
+            long estimate = Math.max(1, known / Math.max(1, units.size()));
+
+            Map<TestDescriptor, Long> cost = new HashMap<>();
+            for (TestDescriptor unit : units) {
+                long millis = durations.getMillis(keyOf(unit));
+                cost.put(unit, millis == Long.MAX_VALUE ? estimate : millis);
+            }
+            units.sort(Comparator.comparing((TestDescriptor unit) -> cost.get(unit)).reversed()
+                    .thenComparing(ShardFilter::keyOf));
+
+            long[] load = new long[count];
+            Map<String, Integer> assignment = new HashMap<>();
+            for (TestDescriptor unit : units) {
+                int lightest = 0;
+                for (int shard = 1; shard < count; shard++) {
+                    if (load[shard] < load[lightest]) {
+                        lightest = shard;
+                    }
+                }
+                load[lightest] += cost.get(unit);
+                assignment.put(unit.getUniqueId().toString(), lightest);
+            }
+            return assignment;
+        });
+    }
+
+    private static boolean isUnit(TestDescriptor descriptor) {
+        return descriptor.getSource().orElse(null) instanceof MethodSource
+                && descriptor.getParent()
+                        .flatMap(TestDescriptor::getSource)
+                        .filter(ClassSource.class::isInstance)
+                        .isPresent();
+    }
+
+    private static String keyOf(TestDescriptor descriptor) {
+        MethodSource source = (MethodSource) descriptor.getSource().get();
+        return TestDurations.key(source.getClassName(), source.getMethodName(), source.getMethodParameterTypes());
+    }
+}
@@ -0,0 +1,146 @@
+package lib;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ShardMerger {
+    private static final String[] COUNTERS = {"tests", "skipped", "failures", "errors"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardMerger <target dir> <shard dir>...");
+            System.exit(2);
+        }
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.add(Paths.get(args[i]));
+        }
+        merge(shards, Paths.get(args[0]));
+    }
+
+    public static void merge(List<Path> shards, Path target) throws Exception {
+        mergeJunitReports(shards, target.resolve("junit"));
+        copyAllureResults(shards, target.resolve("allure-results"));
+        for (Path shard : shards) {
+            Path histograms = shard.resolve("metrics").resolve("request-timings.hist");
+            if (Files.exists(histograms)) {
+                RequestTimings.merge(histograms);
+            }
+        }
+        RequestTimings.export(target.resolve("metrics"));
+
+        List<TestDurations> durations = new ArrayList<>();
+        for (Path shard : shards) {
+            Path file = shard.resolve("durations.properties");
+            if (Files.exists(file)) {
+                durations.add(TestDurations.load(file));
+            }
+        }
+        if (!durations.isEmpty()) {
+            TestDurations history = TestDurations.getInstance();
+            history.mergeShards(durations);
+            history.save();
+        }
+    }
+
+    private static void mergeJunitReports(List<Path> shards, Path target) throws Exception {
+        Map<String, List<Path>> reports = new TreeMap<>();
+        for (Path shard : shards) {
+            for (Path report : list(shard.resolve("junit"))) {
+                if (report.getFileName().toString().endsWith(".xml")) {
+                    reports.computeIfAbsent(report.getFileName().toString(), name -> new ArrayList<>()).add(report);
+                }
+            }
+        }
+
+        Files.createDirectories(target);
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+
+        for (Map.Entry<String, List<Path>> entry : reports.entrySet()) {
+            Document merged = builder.parse(entry.getValue().get(0).toFile());
+            Element suite = merged.getDocumentElement();
+            Node systemOut = first(suite, "system-out");
+            double time = parseTime(suite);
+
+            for (Path report : entry.getValue().subList(1, entry.getValue().size())) {
+                Element other = builder.parse(report.toFile()).getDocumentElement();
+                NodeList testCases = other.getElementsByTagName("testcase");
+                for (int i = 0; i < testCases.getLength(); i++) {
+                    suite.insertBefore(merged.importNode(testCases.item(i), true), systemOut);
+                }
+                for (String counter : COUNTERS) {
+                    suite.setAttribute(counter, Long.toString(
+                            parseCount(suite, counter) + parseCount(other, counter)));
+                }
+                time = Math.max(time, parseTime(other));
+            }
+            suite.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+            transformer.transform(new DOMSource(merged), new StreamResult(target.resolve(entry.getKey()).toFile()));
+        }
+    }
+
+    private static void copyAllureResults(List<Path> shards, Path target) throws IOException {
+        Files.createDirectories(target);
+        for (Path shard : shards) {
+            for (Path result : list(shard.resolve("allure-results"))) {
+                Files.copy(result, target.resolve(result.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Node first(Element parent, String name) {
+        NodeList nodes = parent.getElementsByTagName(name);
+        for (int i = 0; i < nodes.getLength(); i++) {
+            if (nodes.item(i).getParentNode() == parent) {
+                return nodes.item(i);
+            }
+        }
+        return null;
+    }
+
+    private static long parseCount(Element suite, String attribute) {
+        String value = suite.getAttribute(attribute);
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    private static double parseTime(Element suite) {
+        String value = suite.getAttribute("time");
+        return value.isEmpty() ? 0 : Double.parseDouble(value.replace(",", ""));
+    }
+}
@@ -0,0 +1,101 @@
+package lib;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.reporting.legacy.xml.LegacyXmlReportGeneratingListener;
+
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+public class ShardRunner {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--shard")) {
+            System.exit(runShard(Paths.get(args[1])));
+        }
+
+        int count = Integer.getInteger("learnqa.shard.count", Runtime.getRuntime().availableProcessors());
+        Path output = Paths.get(System.getProperty("learnqa.shard.dir", "target/shards"));
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Path history = TestDurations.getInstance().getFile();
+
+        List<Path> shards = new ArrayList<>();
+        List<Process> processes = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            Path shard = output.resolve("shard-" + index);
+            Files.createDirectories(shard);
+            shards.add(shard);
+            Path durations = shard.resolve("durations.properties");
+            if (Files.exists(history)) {
+                Files.copy(history, durations, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(durations);
+            }
+
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("learnqa.") && !name.startsWith("learnqa.shard.")
+                        && !name.equals("learnqa.durations.file")) {
+                    command.add("-D" + name + "=" + System.getProperty(name));
+                }
+            }
+            command.add("-Dlearnqa.shard.count=" + count);
+            command.add("-Dlearnqa.shard.index=" + index);
+            command.add("-Dlearnqa.shard.strategy=" + System.getProperty("learnqa.shard.strategy", "hash"));
+            command.add("-Dlearnqa.metrics.dir=" + shard.resolve("metrics"));
+            command.add("-Dlearnqa.durations.file=" + durations);
+            command.add("-Dallure.results.directory=" + shard.resolve("allure-results"));
+            command.add(ShardRunner.class.getName());
+            command.add("--shard");
+            command.add(shard.toString());
+
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(shard.resolve("output.log").toFile())
+                    .start());
+        }
+
+        int failed = 0;
+        for (int index = 0; index < count; index++) {
+            int exitCode = processes.get(index).waitFor();
+            System.out.println("shard " + index + " exited with " + exitCode + ", log: " + shards.get(index).resolve("output.log"));
+            if (exitCode != 0) {
+                failed++;
+            }
+        }
+
+        ShardMerger.merge(shards, output.resolve("merged"));
+        System.out.println("Merged results of " + count + " shards into " + output.resolve("merged"));
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    private static int runShard(Path shard) {
+        LauncherDiscoveryRequest request = request()
+                .selectors(selectPackage("tests"), selectClass("lib.ApiCoreRequests"))
+                .build();
+        PrintWriter out = new PrintWriter(System.out, true);
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(request, summary, new LegacyXmlReportGeneratingListener(shard.resolve("junit"), out));
+
+        TestExecutionSummary result = summary.getSummary();
+        result.printTo(out);
+        result.printFailuresTo(out, 20);
+        return result.getTotalFailureCount() == 0 ? 0 : 1;
+    }
+}
@@ -0,0 +1,49 @@
+package lib;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class TestDurationListener implements TestExecutionListener {
+    private final ConcurrentHashMap<String, Long> startedAt = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> observed = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            startedAt.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = startedAt.remove(testIdentifier.getUniqueId());
+        TestSource source = testIdentifier.getSource().orElse(null);
+        if (start == null || !(source instanceof MethodSource)) {
+            return;
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        MethodSource method = (MethodSource) source;
+        observed.merge(TestDurations.key(method.getClassName(), method.getMethodName(), method.getMethodParameterTypes()),
+                millis, Long::sum);
+        observed.merge(TestDurations.key(method.getClassName()), millis, Long::sum);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (observed.isEmpty()) {
+            return;
+        }
+        TestDurations durations = TestDurations.getInstance();
+        durations.update(Map.copyOf(observed));
+        durations.save();
+    }
+}
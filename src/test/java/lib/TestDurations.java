@@ -0,0 +1,221 @@
+package lib;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class TestDurations {
+    private static final TestDurations INSTANCE = load(
+            Paths.get(System.getProperty("learnqa.durations.file", ".test-durations.properties")));
+
+    private final Path file;
+    private final ConcurrentHashMap<String, Long> millis;
+
+    private TestDurations(Path file, Map<String, Long> millis) {
+        this.file = file;
+        this.millis = new ConcurrentHashMap<>(millis);
+    }
+
+    public static TestDurations getInstance() {
+        return INSTANCE;
+    }
+
+    public static TestDurations load(Path file) {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read test durations from " + file, e);
+            }
+        }
+        Map<String, Long> millis = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                millis.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                // Skip the entry; the next save rewrites the file.
+            }
+        }
+        return new TestDurations(file, millis);
+    }
+
+    public static String key(String className) {
+        return className;
+    }
+
+    public static String key(String className, String methodName, String parameterTypes) {
+        return className + "#" + methodName + "(" + parameterTypes + ")";
+    }
+
+    public static String key(Method method) {
+        return key(method.getDeclaringClass().getName(), method.getName(), Arrays.stream(method.getParameterTypes())
+                .map(Class::getName)
+                .collect(Collectors.joining(", ")));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getMillis(String key) {
+        return millis.getOrDefault(key, Long.MAX_VALUE);
+    }
+
+    public long getTotalMillis(Predicate<String> keys) {
+        return millis.entrySet().stream()
+                .filter(entry -> keys.test(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    public long getMaxMillis(Predicate<String> keys) {
+        return millis.entrySet().stream()
+                .filter(entry -> keys.test(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .max()
+                .orElse(0);
+    }
+
+    public void update(Map<String, Long> observed) {
+        observed.forEach((key, value) -> millis.merge(key, value, (previous, current) -> (previous + current) / 2));
+    }
+
+    public void mergeShards(List<TestDurations> shards) {
+        Map<String, Long> base = new HashMap<>(millis);
+        Map<String, List<Long>> changed = new HashMap<>();
+        for (TestDurations shard : shards) {
+            shard.millis.forEach((key, value) -> {
+                if (!value.equals(base.get(key))) {
+                    changed.computeIfAbsent(key, name -> new ArrayList<>()).add(value);
+                }
+            });
+        }
+        changed.forEach((key, values) -> {
+            Long previous = base.get(key);
+            long observed = 0;
+            for (long value : values) {
+                observed += previous == null ? value : 2 * value - previous;
+            }
+            millis.put(key, previous == null ? observed : (previous + observed) / 2);
+        });
+    }
+
+    public void save() {
+        StringBuilder text = new StringBuilder("# Smoothed test durations in milliseconds\n");
+        new TreeMap<>(millis).forEach((key, value) -> text.append(escape(key)).append('=').append(value).append('\n'));
+        try {
+            Path absolute = file.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temporary = Files.createTempFile(absolute.getParent(), "test-durations", ".tmp");
+            Files.write(temporary, text.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write test durations to " + file, e);
+        }
+    }
+
+    private static String escape(String key) {
+        StringBuilder escaped = new StringBuilder(key.length() + 8);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '\\' || c == ' ' || c == '=' || c == ':' || c == '#' || c == '!') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    public static class ClassOrder implements ClassOrderer {
+        @Override
+        public void orderClasses(ClassOrdererContext context) {
+            context.getClassDescriptors().sort(Comparator.comparingLong(
+                    (ClassDescriptor descriptor) -> getInstance().getMillis(key(descriptor.getTestClass().getName())))
+                    .reversed());
+        }
+    }
+
+    public static class MethodOrder implements MethodOrderer {
+        @Override
+        public void orderMethods(MethodOrdererContext context) {
+            context.getMethodDescriptors().sort(Comparator.comparingLong(
+                    (MethodDescriptor descriptor) -> getInstance().getMillis(key(descriptor.getMethod())))
+                    .reversed());
+        }
+    }
+
+    public static class Parallelism implements ParallelExecutionConfigurationStrategy {
+        @Override
+        public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int max = configurationParameters.get("learnqa.parallelism.max", Integer::valueOf).orElse(cores * 4);
+            long total = getInstance().getTotalMillis(key -> !key.contains("#"));
+            long longest = getInstance().getMaxMillis(key -> key.contains("#"));
+            int parallelism = total == 0 || longest == 0
+                    ? cores
+                    : (int) Math.max(1, Math.min(max, (total + longest - 1) / longest));
+            return new Configuration(parallelism);
+        }
+    }
+
+    private static final class Configuration implements ParallelExecutionConfiguration {
+        private final int parallelism;
+
+        private Configuration(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism + 256;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return 30;
+        }
+    }
+}
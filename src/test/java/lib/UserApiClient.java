@@ -0,0 +1,313 @@
+package lib;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.restassured.RestAssured.given;
+
+public class UserApiClient {
+    private static final UserApiClient INSTANCE = createDefault();
+
+    private final String userUrl;
+    private final List<Interceptor> interceptors = new CopyOnWriteArrayList<>();
+
+    public UserApiClient(String userUrl) {
+        this.userUrl = userUrl;
+    }
+
+    public static UserApiClient getInstance() {
+        return INSTANCE;
+    }
+
+    private static UserApiClient createDefault() {
+        UserApiClient client = new UserApiClient(ApiConfig.USER_URL);
+        ResponseCache cache = ResponseCache.fromSystemProperties();
+        if (cache != null) {
+            client.addInterceptor(cache);
+        }
+        return client.addInterceptor(RequestPolicies.getInstance());
+    }
+
+    public UserApiClient addInterceptor(Interceptor interceptor) {
+        interceptors.add(interceptor);
+        return this;
+    }
+
+    public boolean removeInterceptor(Interceptor interceptor) {
+        return interceptors.remove(interceptor);
+    }
+
+    public RegisterResult register(Map<String, String> userData) {
+        return new RegisterResult(send(new ApiRequest("POST", "register", userUrl, userData, null, null)));
+    }
+
+    public RegisterResult register(UserData userData) {
+        return register(userData.toMap());
+    }
+
+    public LoginResult login(String email, String password) {
+        return new LoginResult(send(new ApiRequest("POST", "login", userUrl + "login",
+                Map.of("email", email, "password", password), null, null)));
+    }
+
+    public AuthResult auth(String authSid, String csrfToken) {
+        return new AuthResult(send(new ApiRequest("GET", "auth", userUrl + "auth", null, authSid, csrfToken)));
+    }
+
+    public UserResult get(Object userId) {
+        return get(userId, null, null);
+    }
+
+    public UserResult get(Object userId, SessionPool.Session session) {
+        return get(userId, session.getAuthSid(), session.getCsrfToken());
+    }
+
+    public UserResult get(Object userId, String authSid, String csrfToken) {
+        return new UserResult(send(new ApiRequest("GET", "get", userUrl + userId, null, authSid, csrfToken)));
+    }
+
+    public ApiResult edit(Object userId, Map<String, String> editData, SessionPool.Session session) {
+        return edit(userId, editData,
+                session == null ? null : session.getAuthSid(),
+                session == null ? null : session.getCsrfToken());
+    }
+
+    public ApiResult edit(Object userId, Map<String, String> editData, String authSid, String csrfToken) {
+        return new ApiResult(send(new ApiRequest("PUT", "edit", userUrl + userId, editData, authSid, csrfToken)));
+    }
+
+    public ApiResult delete(Object userId, SessionPool.Session session) {
+        return delete(userId,
+                session == null ? null : session.getAuthSid(),
+                session == null ? null : session.getCsrfToken());
+    }
+
+    public ApiResult delete(Object userId, String authSid, String csrfToken) {
+        return new ApiResult(send(new ApiRequest("DELETE", "delete", userUrl + userId, null, authSid, csrfToken)));
+    }
+
+    public Response send(ApiRequest request) {
+        return new Chain(interceptors, 0, this::execute).proceed(request);
+    }
+
+    private Response execute(ApiRequest request) {
+        RequestSpecification spec = given().spec(ApiConfig.SPEC);
+        if (request.getAuthSid() != null) {
+            spec.cookie("auth_sid", request.getAuthSid());
+        }
+        if (request.getCsrfToken() != null) {
+            spec.header("x-csrf-token", request.getCsrfToken());
+        }
+        if (!request.getHeaders().isEmpty()) {
+            spec.headers(request.getHeaders());
+        }
+        if (request.getBody() != null) {
+            spec.body(request.getBody());
+        }
+        return spec.request(request.getMethod(), request.getUrl()).andReturn();
+    }
+
+    @FunctionalInterface
+    public interface Interceptor {
+        Response intercept(ApiRequest request, Chain chain);
+    }
+
+    @FunctionalInterface
+    interface Transport {
+        Response execute(ApiRequest request);
+    }
+
+    public static final class Chain {
+        private final List<Interceptor> interceptors;
+        private final int index;
+        private final Transport transport;
+
+        private Chain(List<Interceptor> interceptors, int index, Transport transport) {
+            this.interceptors = interceptors;
+            this.index = index;
+            this.transport = transport;
+        }
+
+        public Response proceed(ApiRequest request) {
+            if (index >= interceptors.size()) {
+                return transport.execute(request);
+            }
+            return interceptors.get(index).intercept(request, new Chain(interceptors, index + 1, transport));
+        }
+    }
+
+    public static final class ApiRequest {
+        private final String method;
+        private final String endpoint;
+        private final String url;
+        private final Map<String, String> body;
+        private final String authSid;
+        private final String csrfToken;
+        private final Map<String, String> headers;
+
+        public ApiRequest(String method, String endpoint, String url, Map<String, String> body,
+                          String authSid, String csrfToken) {
+            this(method, endpoint, url, body, authSid, csrfToken, Map.of());
+        }
+
+        private ApiRequest(String method, String endpoint, String url, Map<String, String> body,
+                           String authSid, String csrfToken, Map<String, String> headers) {
+            this.method = method;
+            this.endpoint = endpoint;
+            this.url = url;
+            this.body = body;
+            this.authSid = authSid;
+            this.csrfToken = csrfToken;
+            this.headers = headers;
+        }
+
+        public ApiRequest withHeader(String name, String value) {
+            Map<String, String> withHeader = new LinkedHashMap<>(headers);
+            withHeader.put(name, value);
+            return new ApiRequest(method, endpoint, url, body, authSid, csrfToken, Collections.unmodifiableMap(withHeader));
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Map<String, String> getBody() {
+            return body;
+        }
+
+        public String getAuthSid() {
+            return authSid;
+        }
+
+        public String getCsrfToken() {
+            return csrfToken;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + url;
+        }
+    }
+
+    public static class ApiResult {
+        private final Response response;
+
+        ApiResult(Response Response) {
+            this.response = Response;
+        }
+
+        public Response getResponse() {
+            return response;
+        }
+
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        public boolean isSuccess() {
+            return response.statusCode() == 200 && getError() == null;
+        }
+
+        public String getError() {
+            ResponseJson json = ResponseJson.of(response);
+            if (json.isObject()) {
+                return json.getString("error");
+            }
+            return response.statusCode() == 200 ? null : response.asString();
+        }
+
+        protected ResponseJson json() {
+            return ResponseJson.of(response);
+        }
+    }
+
+    public static final class RegisterResult extends ApiResult {
+        RegisterResult(Response Response) {
+            super(Response);
+        }
+
+        public String getId() {
+            return json().getString("id");
+        }
+    }
+
+    public static final class LoginResult extends ApiResult {
+        LoginResult(Response Response) {
+            super(Response);
+        }
+
+        public int getUserId() {
+            return json().getInt("user_id");
+        }
+
+        public String getAuthSid() {
+            return getResponse().getCookie("auth_sid");
+        }
+
+        public String getCsrfToken() {
+            return getResponse().getHeader("x-csrf-token");
+        }
+
+        public SessionPool.Session toSession(long expiresAt) {
+            return new SessionPool.Session(getAuthSid(), getCsrfToken(), getUserId(), expiresAt);
+        }
+
+        public SessionPool.Session toSession() {
+            return toSession(Long.MAX_VALUE);
+        }
+    }
+
+    public static final class AuthResult extends ApiResult {
+        AuthResult(Response Response) {
+            super(Response);
+        }
+
+        public int getUserId() {
+            return json().getInt("user_id");
+        }
+    }
+
+    public static final class UserResult extends ApiResult {
+        UserResult(Response Response) {
+            super(Response);
+        }
+
+        public String getId() {
+            return json().getString("id");
+        }
+
+        public String getUsername() {
+            return json().getString("username");
+        }
+
+        public String getEmail() {
+            return json().getString("email");
+        }
+
+        public String getFirstName() {
+            return json().getString("firstName");
+        }
+
+        public String getLastName() {
+            return json().getString("lastName");
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package lib;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class UserApiStub {
+    private static final String[] REQUIRED_FIELDS = {"email", "password", "username", "firstName", "lastName"};
+    private static final ThreadLocal<FaultProfile.Decision> DRIP = new ThreadLocal<>();
+
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final UserStore store = new UserStore(
+            Integer.getInteger("learnqa.stub.stripes", 64), 6,
+            Long.getLong("learnqa.stub.sessionTtl", 3600), TimeUnit.SECONDS);
+
+    private volatile FaultProfile faults = FaultProfile.fromSystemProperties();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public UserApiStub() {
+        addUser(1, "learnqa01@example.com", "1234", "learnqa", "learnqa", "learnqa");
+        addUser(2, "vinkotov@example.com", "1234", "Vitaliy", "Vitalii", "Kotov");
+        addUser(3, "learnqa03@example.com", "1234", "learnqa", "learnqa", "learnqa");
+        addUser(4, "learnqa04@example.com", "1234", "learnqa", "learnqa", "learnqa");
+        addUser(5, "learnqa05@example.com", "1234", "learnqa", "learnqa", "learnqa");
+    }
+
+    public synchronized UserApiStub start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "user-api-stub-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/user/", this::handle);
+        server.start();
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public UserApiStub setFaults(FaultProfile faults) {
+        this.faults = faults;
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring("/api/user/".length());
+            String method = exchange.getRequestMethod();
+
+            FaultProfile profile = faults;
+            if (profile != null && injectFault(exchange, profile.decide(endpointOf(path, method)))) {
+                return;
+            }
+
+            if (path.isEmpty() && method.equals("POST")) {
+                create(exchange);
+            } else if (path.equals("login") && method.equals("POST")) {
+                login(exchange);
+            } else if (path.equals("auth") && method.equals("GET")) {
+                send(exchange, 200, "{\"user_id\":" + authorizedUserId(exchange) + "}");
+            } else if (isUserId(path)) {
+                int userId = Integer.parseInt(path);
+                switch (method) {
+                    case "GET":
+                        get(exchange, userId);
+                        break;
+                    case "PUT":
+                        edit(exchange, userId);
+                        break;
+                    case "DELETE":
+                        delete(exchange, userId);
+                        break;
+                    default:
+                        send(exchange, 404, "Wrong HTTP method");
+                }
+            } else {
+                send(exchange, 404, "Wrong HTTP method");
+            }
+        } catch (MalformedBodyException e) {
+            sendError(exchange, e.getMessage());
+        } finally {
+            DRIP.remove();
+            exchange.close();
+        }
+    }
+
+    private boolean injectFault(HttpExchange exchange, FaultProfile.Decision decision) throws IOException {
+        if (decision.getDelayNanos() > 0) {
+            LockSupport.parkNanos(decision.getDelayNanos());
+        }
+        if (decision.isReset()) {
+            exchange.sendResponseHeaders(200, 64);
+            OutputStream out = exchange.getResponseBody();
+            out.write('{');
+            out.flush();
+            throw new IOException("Injected connection reset");
+        }
+        if (decision.getDripBytes() > 0) {
+            DRIP.set(decision);
+        }
+        if (decision.getStatusCode() == 429) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            send(exchange, 429, "Too Many Requests");
+            return true;
+        }
+        if (decision.getStatusCode() != 0) {
+            send(exchange, decision.getStatusCode(), "Injected failure");
+            return true;
+        }
+        return false;
+    }
+
+    private static String endpointOf(String path, String method) {
+        if (path.isEmpty()) {
+            return "register";
+        }
+        if (path.equals("login") || path.equals("auth")) {
+            return path;
+        }
+        switch (method) {
+            case "PUT":
+                return "edit";
+            case "DELETE":
+                return "delete";
+            default:
+                return "get";
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        Map<String, String> params = readParams(exchange);
+
+        for (String field : REQUIRED_FIELDS) {
+            if (!params.containsKey(field)) {
+                send(exchange, 400, "The following required params are missed: " + field);
+                return;
+            }
+        }
+        for (String field : REQUIRED_FIELDS) {
+            String value = params.get(field);
+            if (value.isEmpty() || (!field.equals("email") && !field.equals("password") && value.length() < 2)) {
+                send(exchange, 400, "The value of '" + field + "' field is too short");
+                return;
+            }
+            if (value.length() > 250) {
+                send(exchange, 400, "The value of '" + field + "' field is too long");
+                return;
+            }
+        }
+
+        String email = params.get("email");
+        if (!email.contains("@")) {
+            send(exchange, 400, "Invalid email format");
+            return;
+        }
+
+        UserStore.Record user = store.create(params);
+        if (user == null) {
+            send(exchange, 400, "Users with email '" + email + "' already exists");
+            return;
+        }
+        send(exchange, 200, "{\"id\":\"" + user.getId() + "\"}");
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> params = readParams(exchange);
+        UserStore.Record user = store.findByEmail(String.valueOf(params.get("email")));
+
+        if (user == null || !user.getPassword().equals(params.get("password"))) {
+            send(exchange, 400, "Invalid username/password supplied");
+            return;
+        }
+
+        UserStore.Session session = store.openSession(user.getId());
+        exchange.getResponseHeaders().add("Set-Cookie", "auth_sid=" + session.getAuthSid() + "; path=/; HttpOnly");
+        exchange.getResponseHeaders().add("x-csrf-token", session.getCsrfToken());
+        send(exchange, 200, "{\"user_id\":" + user.getId() + "}");
+    }
+
+    private void get(HttpExchange exchange, int userId) throws IOException {
+        UserStore.Record user = store.get(userId);
+        if (user == null) {
+            send(exchange, 404, "User not found");
+            return;
+        }
+
+        String body = authorizedUserId(exchange) == userId
+                ? "{\"id\":\"" + user.getId() + "\",\"username\":\"" + escape(user.getUsername())
+                        + "\",\"email\":\"" + escape(user.getEmail()) + "\",\"firstName\":\"" + escape(user.getFirstName())
+                        + "\",\"lastName\":\"" + escape(user.getLastName()) + "\"}"
+                : "{\"username\":\"" + escape(user.getUsername()) + "\"}";
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    private void edit(HttpExchange exchange, int userId) throws IOException {
+        Map<String, String> params = readParams(exchange);
+        int authorizedUserId = authorizedUserId(exchange);
+
+        if (authorizedUserId == 0) {
+            sendError(exchange, "Auth token not supplied");
+            return;
+        }
+        if (authorizedUserId != userId) {
+            sendError(exchange, "This user can only edit their own data.");
+            return;
+        }
+        if (userId <= 5) {
+            sendError(exchange, "Please, do not edit test users with ID 1, 2, 3, 4 or 5.");
+            return;
+        }
+
+        String email = params.get("email");
+        if (email != null && !email.contains("@")) {
+            sendError(exchange, "Invalid email format");
+            return;
+        }
+        for (String field : new String[] {"username", "firstName", "lastName"}) {
+            String value = params.get(field);
+            if (value != null && value.length() < 2) {
+                sendError(exchange, "The value for field `" + field + "` is too short");
+                return;
+            }
+        }
+
+        UserStore.Change change;
+        try {
+            change = store.update(userId, params);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, e.getMessage());
+            return;
+        }
+        switch (change) {
+            case NOT_FOUND:
+                send(exchange, 404, "User not found");
+                break;
+            case EMAIL_TAKEN:
+                sendError(exchange, "Users with email '" + email + "' already exists");
+                break;
+            default:
+                send(exchange, 200, "{\"success\":\"!\"}");
+        }
+    }
+
+    private void delete(HttpExchange exchange, int userId) throws IOException {
+        int authorizedUserId = authorizedUserId(exchange);
+
+        if (authorizedUserId == 0) {
+            sendError(exchange, "Auth token not supplied");
+            return;
+        }
+        if (authorizedUserId <= 5) {
+            sendError(exchange, "Please, do not delete test users with ID 1, 2, 3, 4 or 5.");
+            return;
+        }
+        if (authorizedUserId != userId) {
+            sendError(exchange, "This user can only delete their own account.");
+            return;
+        }
+
+        store.delete(userId);
+        send(exchange, 200, "{\"success\":\"!\"}");
+    }
+
+    private int authorizedUserId(HttpExchange exchange) {
+        return store.authorize(readCookie(exchange, "auth_sid"), exchange.getRequestHeaders().getFirst("x-csrf-token"));
+    }
+
+    private void addUser(int id, String email, String password, String username, String firstName, String lastName) {
+        store.insert(id, Map.of("email", email, "password", password, "username", username,
+                "firstName", firstName, "lastName", lastName));
+    }
+
+    private static boolean isUserId(String path) {
+        if (path.isEmpty() || path.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) < '0' || path.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readCookie(HttpExchange exchange, String name) {
+        String header = exchange.getRequestHeaders().getFirst("Cookie");
+        if (header == null) {
+            return null;
+        }
+        for (String cookie : header.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equals(name)) {
+                return pair[1];
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        return body.startsWith("{") ? parseJsonObject(body) : parseForm(body);
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> params = new HashMap<>();
+        if (body.isEmpty()) {
+            return params;
+        }
+        for (String pair : body.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            params.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                    keyValue.length > 1 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    private static Map<String, String> parseJsonObject(String body) {
+        Map<String, String> params = new HashMap<>();
+        try (JsonStreamReader reader = new JsonStreamReader(new StringReader(body))) {
+            if (reader.next() != JsonStreamReader.Token.BEGIN_OBJECT) {
+                throw new MalformedBodyException("Invalid JSON body: expected an object");
+            }
+            while (reader.peek() == JsonStreamReader.Token.NAME) {
+                reader.next();
+                String key = reader.getText();
+                JsonStreamReader.Token value = reader.next();
+                if (value == JsonStreamReader.Token.BEGIN_OBJECT || value == JsonStreamReader.Token.BEGIN_ARRAY
+                        || reader.isTruncated()) {
+                    throw new MalformedBodyException("Invalid value of '" + key + "' field");
+                }
+                if (value != JsonStreamReader.Token.NULL) {
+                    params.put(key, reader.getText());
+                }
+            }
+            if (reader.next() != JsonStreamReader.Token.END_OBJECT || reader.next() != JsonStreamReader.Token.END_DOCUMENT) {
+                throw new MalformedBodyException("Invalid JSON body: expected a single object");
+            }
+        } catch (IOException e) {
+            throw new MalformedBodyException("Invalid JSON body: " + e.getMessage());
+        }
+        return params;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void sendError(HttpExchange exchange, String error) throws IOException {
+        send(exchange, 400, "{\"error\":\"" + escape(error) + "\"}");
+    }
+
+    private static final class MalformedBodyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private MalformedBodyException(String message) {
+            super(message);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type",
+                body.startsWith("{") ? "application/json" : "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            FaultProfile.Decision drip = DRIP.get();
+            if (drip == null) {
+                out.write(bytes);
+                return;
+            }
+            for (int offset = 0; offset < bytes.length; offset += drip.getDripBytes()) {
+                out.write(bytes, offset, Math.min(drip.getDripBytes(), bytes.length - offset));
+                out.flush();
+                LockSupport.parkNanos(drip.getDripIntervalNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package lib;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class UserData {
+    private final String email;
+    private final String password;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+
+    public UserData(String email, String password, String username, String firstName, String lastName) {
+        this.email = email;
+        this.password = password;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Map<String, String> toMap() {
+        Map<String, String> data = new HashMap<>();
+        data.put("email", email);
+        data.put("password", password);
+        data.put("username", username);
+        data.put("firstName", firstName);
+        data.put("lastName", lastName);
+        return data;
+    }
+
+    public Map<String, String> toAuthData() {
+        return Map.of("email", email, "password", password);
+    }
+
+    @Override
+    public String toString() {
+        return "UserData{email=" + email + ", username=" + username + "}";
+    }
+}
@@ -0,0 +1,157 @@
+package lib;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UserFixturePool {
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final UserFixturePool INSTANCE = new UserFixturePool(
+            UserApiClient.getInstance(),
+            Integer.getInteger("learnqa.fixtures.size", 8),
+            Integer.getInteger("learnqa.fixtures.threads", 4));
+
+    private final UserApiClient userApiClient;
+    private final int targetSize;
+    private final LinkedBlockingQueue<Fixture> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong retryAt = new AtomicLong(System.nanoTime());
+    private final ExecutorService provisioner;
+    private volatile Exception lastError;
+    private volatile Fixture shared;
+
+    public UserFixturePool(UserApiClient userApiClient, int targetSize, int threads) {
+        this.userApiClient = userApiClient;
+        this.targetSize = targetSize;
+        this.provisioner = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-fixture-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static UserFixturePool getInstance() {
+        return INSTANCE;
+    }
+
+    public Fixture leaseExclusive() {
+        Fixture fixture = ready.poll();
+        refill();
+        return fixture != null ? fixture : provisionNow();
+    }
+
+    public Fixture leaseExclusive(long timeout, TimeUnit unit) throws InterruptedException {
+        refill();
+        Fixture fixture = ready.poll(timeout, unit);
+        refill();
+        return fixture != null ? fixture : provisionNow();
+    }
+
+    public Fixture shared() {
+        Fixture fixture = shared;
+        if (fixture == null) {
+            synchronized (this) {
+                fixture = shared;
+                if (fixture == null) {
+                    fixture = leaseExclusive();
+                    shared = fixture;
+                }
+            }
+        }
+        return fixture;
+    }
+
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    public int getFailureCount() {
+        return failures.get();
+    }
+
+    public Exception getLastError() {
+        return lastError;
+    }
+
+    private void refill() {
+        while (ready.size() + pending.get() < targetSize && System.nanoTime() - retryAt.get() >= 0) {
+            pending.incrementAndGet();
+            provisioner.execute(() -> {
+                try {
+                    ready.add(provision());
+                    consecutiveFailures.set(0);
+                } catch (Exception e) {
+                    recordFailure(e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private Fixture provisionNow() {
+        try {
+            Fixture fixture = provision();
+            consecutiveFailures.set(0);
+            return fixture;
+        } catch (Exception e) {
+            Exception background = lastError;
+            recordFailure(e);
+            if (background != null && background != e) {
+                e.addSuppressed(background);
+            }
+            throw e;
+        }
+    }
+
+    private void recordFailure(Exception error) {
+        failures.incrementAndGet();
+        lastError = error;
+        int attempt = Math.min(consecutiveFailures.incrementAndGet(), 16);
+        long backoff = Math.min(MAX_BACKOFF_NANOS, TimeUnit.MILLISECONDS.toNanos(100) << attempt);
+        retryAt.set(System.nanoTime() + backoff);
+    }
+
+    private Fixture provision() {
+        UserData userData = DataGenerator.getUserData();
+        UserApiClient.RegisterResult registerResult = userApiClient.register(userData);
+        if (!registerResult.isSuccess()) {
+            throw new IllegalStateException("Unable to register fixture user: " + registerResult.getError());
+        }
+        UserApiClient.LoginResult loginResult = userApiClient.login(userData.getEmail(), userData.getPassword());
+        if (!loginResult.isSuccess()) {
+            throw new IllegalStateException("Unable to login fixture user: " + loginResult.getError());
+        }
+        return new Fixture(userData, registerResult.getId(), loginResult.toSession());
+    }
+
+    public static final class Fixture {
+        private final UserData userData;
+        private final String userId;
+        private final SessionPool.Session session;
+
+        private Fixture(UserData userData, String userId, SessionPool.Session session) {
+            this.userData = userData;
+            this.userId = userId;
+            this.session = session;
+        }
+
+        public UserData getUserData() {
+            return userData;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public SessionPool.Session getSession() {
+            return session;
+        }
+    }
+}
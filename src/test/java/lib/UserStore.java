@@ -0,0 +1,307 @@
+package lib;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class UserStore {
+    private static final int EMAIL = 0;
+    private static final int PASSWORD = 1;
+    private static final int USERNAME = 2;
+    private static final int FIRST_NAME = 3;
+    private static final int LAST_NAME = 4;
+    private static final String[] FIELDS = {"email", "password", "username", "firstName", "lastName"};
+
+    public enum Change { UPDATED, NOT_FOUND, EMAIL_TAKEN }
+
+    private final Stripe<Integer, Record>[] byId;
+    private final Stripe<String, Integer>[] byEmail;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId;
+    private final AtomicLong logins = new AtomicLong();
+    private final long sessionTtlNanos;
+
+    @SuppressWarnings("unchecked")
+    public UserStore(int stripes, int firstId, long sessionTtl, TimeUnit unit) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.byId = (Stripe<Integer, Record>[]) new Stripe<?, ?>[size];
+        this.byEmail = (Stripe<String, Integer>[]) new Stripe<?, ?>[size];
+        for (int i = 0; i < size; i++) {
+            byId[i] = new Stripe<>();
+            byEmail[i] = new Stripe<>();
+        }
+        this.nextId = new AtomicInteger(firstId);
+        this.sessionTtlNanos = unit.toNanos(sessionTtl);
+    }
+
+    public Record insert(int id, Map<String, String> fields) {
+        Record record = new Record(id, encode(fields));
+        String email = fields.get("email");
+        Stripe<Integer, Record> idStripe = stripe(byId, id);
+        Stripe<String, Integer> emailStripe = stripe(byEmail, email);
+        idStripe.lock.writeLock().lock();
+        try {
+            emailStripe.lock.writeLock().lock();
+            try {
+                if (emailStripe.map.containsKey(email)) {
+                    return null;
+                }
+                idStripe.map.put(id, record);
+                emailStripe.map.put(email, id);
+                return record;
+            } finally {
+                emailStripe.lock.writeLock().unlock();
+            }
+        } finally {
+            idStripe.lock.writeLock().unlock();
+        }
+    }
+
+    public Record create(Map<String, String> fields) {
+        return insert(nextId.getAndIncrement(), fields);
+    }
+
+    public Record get(int id) {
+        Stripe<Integer, Record> stripe = stripe(byId, id);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.map.get(id);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    public Record findByEmail(String email) {
+        Stripe<String, Integer> stripe = stripe(byEmail, email);
+        Integer id;
+        stripe.lock.readLock().lock();
+        try {
+            id = stripe.map.get(email);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+        return id == null ? null : get(id);
+    }
+
+    public Change update(int id, Map<String, String> changes) {
+        Stripe<Integer, Record> idStripe = stripe(byId, id);
+        idStripe.lock.writeLock().lock();
+        try {
+            Record record = idStripe.map.get(id);
+            if (record == null) {
+                return Change.NOT_FOUND;
+            }
+
+            Map<String, String> fields = record.toMap();
+            for (String field : FIELDS) {
+                fields.put(field, changes.getOrDefault(field, fields.get(field)));
+            }
+            Record updated = new Record(id, encode(fields));
+
+            String oldEmail = record.getEmail();
+            String newEmail = updated.getEmail();
+            if (!newEmail.equals(oldEmail) && !moveEmail(id, oldEmail, newEmail)) {
+                return Change.EMAIL_TAKEN;
+            }
+            idStripe.map.put(id, updated);
+            return Change.UPDATED;
+        } finally {
+            idStripe.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(int id) {
+        Stripe<Integer, Record> idStripe = stripe(byId, id);
+        idStripe.lock.writeLock().lock();
+        try {
+            Record record = idStripe.map.remove(id);
+            if (record == null) {
+                return false;
+            }
+            Stripe<String, Integer> emailStripe = stripe(byEmail, record.getEmail());
+            emailStripe.lock.writeLock().lock();
+            try {
+                emailStripe.map.remove(record.getEmail(), id);
+            } finally {
+                emailStripe.lock.writeLock().unlock();
+            }
+            return true;
+        } finally {
+            idStripe.lock.writeLock().unlock();
+        }
+    }
+
+    public Session openSession(int userId) {
+        if ((logins.incrementAndGet() & 1023) == 0) {
+            purgeExpiredSessions();
+        }
+        Session session = new Session(userId,
+                UUID.randomUUID().toString().replace("-", ""),
+                UUID.randomUUID().toString().replace("-", ""),
+                System.nanoTime() + sessionTtlNanos);
+        sessions.put(session.authSid, session);
+        return session;
+    }
+
+    public int authorize(String authSid, String csrfToken) {
+        if (authSid == null || csrfToken == null) {
+            return 0;
+        }
+        Session session = sessions.get(authSid);
+        if (session == null || !session.csrfToken.equals(csrfToken)) {
+            return 0;
+        }
+        if (System.nanoTime() - session.expiresAt > 0) {
+            sessions.remove(authSid, session);
+            return 0;
+        }
+        return get(session.userId) == null ? 0 : session.userId;
+    }
+
+    public void purgeExpiredSessions() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> now - session.expiresAt > 0);
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private boolean moveEmail(int id, String oldEmail, String newEmail) {
+        int oldIndex = indexOf(byEmail, oldEmail);
+        int newIndex = indexOf(byEmail, newEmail);
+        Stripe<String, Integer> first = byEmail[Math.min(oldIndex, newIndex)];
+        Stripe<String, Integer> second = byEmail[Math.max(oldIndex, newIndex)];
+
+        first.lock.writeLock().lock();
+        second.lock.writeLock().lock();
+        try {
+            if (byEmail[newIndex].map.putIfAbsent(newEmail, id) != null) {
+                return false;
+            }
+            byEmail[oldIndex].map.remove(oldEmail, id);
+            return true;
+        } finally {
+            second.lock.writeLock().unlock();
+            first.lock.writeLock().unlock();
+        }
+    }
+
+    private static <K, V> Stripe<K, V> stripe(Stripe<K, V>[] stripes, Object key) {
+        return stripes[indexOf(stripes, key)];
+    }
+
+    private static int indexOf(Stripe<?, ?>[] stripes, Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static byte[] encode(Map<String, String> fields) {
+        byte[][] values = new byte[FIELDS.length][];
+        int size = 0;
+        for (int i = 0; i < FIELDS.length; i++) {
+            values[i] = fields.get(FIELDS[i]).getBytes(StandardCharsets.UTF_8);
+            if (values[i].length > 0xFFFF) {
+                throw new IllegalArgumentException("The value of '" + FIELDS[i] + "' field is too long");
+            }
+            size += 2 + values[i].length;
+        }
+        ByteBuffer data = ByteBuffer.allocate(size);
+        for (byte[] value : values) {
+            data.putShort((short) value.length).put(value);
+        }
+        return data.array();
+    }
+
+    public static final class Record {
+        private final int id;
+        private final byte[] data;
+
+        private Record(int id, byte[] data) {
+            this.id = id;
+            this.data = data;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getEmail() {
+            return field(EMAIL);
+        }
+
+        public String getPassword() {
+            return field(PASSWORD);
+        }
+
+        public String getUsername() {
+            return field(USERNAME);
+        }
+
+        public String getFirstName() {
+            return field(FIRST_NAME);
+        }
+
+        public String getLastName() {
+            return field(LAST_NAME);
+        }
+
+        public Map<String, String> toMap() {
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < FIELDS.length; i++) {
+                fields.put(FIELDS[i], field(i));
+            }
+            return fields;
+        }
+
+        private String field(int index) {
+            int offset = 0;
+            for (int i = 0; i < index; i++) {
+                offset += 2 + length(offset);
+            }
+            return new String(data, offset + 2, length(offset), StandardCharsets.UTF_8);
+        }
+
+        private int length(int offset) {
+            return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+        }
+    }
+
+    public static final class Session {
+        private final int userId;
+        private final String authSid;
+        private final String csrfToken;
+        private final long expiresAt;
+
+        private Session(int userId, String authSid, String csrfToken, long expiresAt) {
+            this.userId = userId;
+            this.authSid = authSid;
+            this.csrfToken = csrfToken;
+            this.expiresAt = expiresAt;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getAuthSid() {
+            return authSid;
+        }
+
+        public String getCsrfToken() {
+            return csrfToken;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final HashMap<K, V> map = new HashMap<>();
+    }
+}
@@ -6,19 +6,18 @@ import io.qameta.allure.Feature;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import lib.ApiConfig;
 import lib.BaseCaseTest;
 import lib.Assertions;
 
 import lib.ApiCoreRequests;
+import lib.SessionPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Epic("Authorization cases")
 @Feature("Authorization")
 public class UserAuthTest extends BaseCaseTest{
@@ -29,16 +28,11 @@ public class UserAuthTest extends BaseCaseTest{
 
     @BeforeEach
     public void loginUser () {
-        Map<String, String> authorizationDate = new HashMap<>();
-        authorizationDate.put("email", "vinkotov@example.com");
-        authorizationDate.put("password", "1234");
-
-        Response responseAuthorization = apiCoreRequests
-                .makePostRequest("https://playground.learnqa.ru/api/user/login", authorizationDate);
+        SessionPool.Session session = SessionPool.getInstance().getSession("vinkotov@example.com", "1234");
 
-        this.cookie = this.getCookie(responseAuthorization, "auth_sid");
-        this.header = this.getHeader(responseAuthorization, "x-csrf-token");
-        this.userIdOnAuth = this.getIntFromJson(responseAuthorization, "user_id");
+        this.cookie = session.getAuthSid();
+        this.header = session.getCsrfToken();
+        this.userIdOnAuth = session.getUserId();
     }
 
     @Test
@@ -46,12 +40,14 @@ public class UserAuthTest extends BaseCaseTest{
     @DisplayName("Positive test for authorization")
     public void authorizationTest() {
 
-        Response responseCheckAuth = apiCoreRequests
-                .makeGetRequest(
-                        "https://playground.learnqa.ru/api/user/auth",
-                        this.header,
-                        this.cookie
-                );
+        Response responseCheckAuth = SessionPool.getInstance().withSession(
+                "vinkotov@example.com",
+                "1234",
+                session -> apiCoreRequests.makeGetRequest(
+                        ApiConfig.AUTH_URL,
+                        session.getCsrfToken(),
+                        session.getAuthSid()
+                ));
         Assertions.asserJsonByName(responseCheckAuth, "user_id", this.userIdOnAuth);
 
     }
@@ -63,13 +59,13 @@ public class UserAuthTest extends BaseCaseTest{
 
         if (condition.equals("cookie")) {
             Response responseForCheck = apiCoreRequests.makeGetRequestWithCookie(
-                    "https://playground.learnqa.ru/api/user/auth",
+                    ApiConfig.AUTH_URL,
                     this.cookie
             );
             Assertions.asserJsonByName(responseForCheck, "user_id", 0);
         } else if (condition.equals("headers")) {
             Response responseForCheck = apiCoreRequests.makeGetRequestWithToken(
-                    "https://playground.learnqa.ru/api/user/auth",
+                    ApiConfig.AUTH_URL,
                     this.header
             );
             Assertions.asserJsonByName(responseForCheck, "user_id", 0);
@@ -1,66 +1,73 @@
 package tests;
 
-import io.restassured.RestAssured;
-import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import lib.BaseCaseTest;
 import lib.DataGenerator;
 import lib.Assertions;
+import lib.ScenarioEngine;
+import lib.SessionPool;
+import lib.UserApiClient;
+import lib.UserData;
+import lib.UserFixturePool;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class UserEditTest extends BaseCaseTest {
+    private final UserApiClient userApiClient = UserApiClient.getInstance();
+
     @Test
     public void testEditJustCreatedTest() {
-    //Generate User
-        Map<String, String> userData = DataGenerator.getRegistrationData();
-
-        JsonPath responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .jsonPath();
-
-        String userId = responseCreateAuth.getString("id");
-
-    //Login
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", userData.get("email"));
-        authData.put("password", userData.get("password"));
+    //Generate User and Login
+        UserFixturePool.Fixture fixture = UserFixturePool.getInstance().leaseExclusive();
 
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
+        String userId = fixture.getUserId();
+        SessionPool.Session session = fixture.getSession();
 
     //Edit
         String newName = "Changed name";
-        Map<String, String> editData = new HashMap<>();
-        editData.put("firstName", newName);
+        Map<String, String> editData = Map.of("firstName", newName);
 
-        Response responseEditName = RestAssured
-            .given()
-            .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-            .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-            .body(editData)
-            .put("https://playground.learnqa.ru/api/user/" + userId)
-            .andReturn();
+        userApiClient.edit(userId, editData, session);
 
     //Get
-        Response responseUserData = RestAssured
-                .given()
-                .header("x-csrf-token", this.getHeader(responseGetAuth, "x-csrf-token"))
-                .cookie("auth_sid", this.getCookie(responseGetAuth, "auth_sid"))
-                .body(editData)
-                .get("https://playground.learnqa.ru/api/user/" + userId)
-                .andReturn();
+        Response responseUserData = userApiClient.get(userId, session).getResponse();
 
         System.out.println(responseUserData.asString());
 
         Assertions.asserJsonByName(responseUserData, "firstName", newName);
 
     }
+
+    @Test
+    public void testEditJustCreatedUsersConcurrently() throws InterruptedException {
+        String newName = "Changed name";
+        List<ScenarioEngine.Scenario> scenarios = new ArrayList<>();
+        for (UserData userData : DataGenerator.getUsers(10)) {
+            scenarios.add(ScenarioEngine.scenario(userData.getEmail())
+                    .step("userId", context -> userApiClient.register(userData).getId())
+                    .step("session", context -> userApiClient
+                            .login(userData.getEmail(), userData.getPassword())
+                            .toSession(), "userId")
+                    .step("edit", context -> userApiClient.edit(
+                            context.get("userId"),
+                            Map.of("firstName", newName),
+                            context.<SessionPool.Session>get("session")), "userId", "session")
+                    .step("get", context -> {
+                        Response responseUserData = userApiClient
+                                .get(context.get("userId"), context.<SessionPool.Session>get("session"))
+                                .getResponse();
+                        Assertions.asserJsonByName(responseUserData, "firstName", newName);
+                        return responseUserData;
+                    }, "edit"));
+        }
+
+        for (ScenarioEngine.Result result : new ScenarioEngine(scenarios.size()).run(scenarios)) {
+            assertTrue(result.isSuccess(), result.toString());
+        }
+    }
 }
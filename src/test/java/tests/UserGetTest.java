@@ -1,51 +1,93 @@
 package tests;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import lib.ApiConfig;
+import lib.ApiCoreRequests;
 import lib.BaseCaseTest;
 import lib.Assertions;
+import lib.FaultProfile;
+import lib.RequestPolicies;
+import lib.SessionPool;
+import lib.UserApiClient;
+import lib.UserApiStub;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class UserGetTest extends BaseCaseTest {
+    private final UserApiClient userApiClient = UserApiClient.getInstance();
+    private final ApiCoreRequests apiCoreRequests = new ApiCoreRequests();
+
     @Test
     public void testGetUserDataNotAuth() {
-        Response responseUserData = RestAssured
-                .get("https://playground.learnqa.ru/api/user/2")
-                .andReturn();
+        Response responseUserData = userApiClient.get(2).getResponse();
 
         System.out.println(responseUserData.asString());
 
-        Assertions.assertJsonHasField(responseUserData, "username");
-        Assertions.assertJsonHasNotField(responseUserData, "firstName");
-        Assertions.assertJsonHasNotField(responseUserData, "lastName");
-        Assertions.assertJsonHasNotField(responseUserData, "email");
+        Assertions.assertJson(responseUserData)
+                .has("username")
+                .lacks("firstName", "lastName", "email")
+                .verify();
+    }
+
+    @Test
+    public void testGetUserDataNotAuthStreaming() {
+        Response responseUserData = userApiClient.get(2).getResponse();
+
+        Assertions.assertJsonStream(responseUserData)
+                .has("username")
+                .lacks("firstName", "lastName", "email")
+                .eq("username", "Vitaliy")
+                .verify();
+    }
+
+    @Test
+    public void testGetUsersDataNotAuthConcurrently() {
+        List<CompletableFuture<Response>> responses = IntStream.rangeClosed(1, 5)
+                .mapToObj(userId -> apiCoreRequests.makeGetRequestAsync(ApiConfig.USER_URL + userId, null, null))
+                .collect(Collectors.toList());
+
+        for (CompletableFuture<Response> responseUserData : responses) {
+            Assertions.assertJson(responseUserData.join())
+                    .has("username")
+                    .lacks("firstName", "lastName", "email")
+                    .verify();
+        }
+    }
+
+    @Test
+    @DisabledIfSystemProperty(named = "learnqa.cassette.mode", matches = "replay")
+    public void testGetUserRetriesAfterReadTimeout() throws IOException {
+        UserApiStub stub = new UserApiStub()
+                .setFaults(FaultProfile.parse("get: latency=1s", 1))
+                .start(0);
+        RequestPolicies policies = new RequestPolicies(Map.of(
+                "get", new RequestPolicies.Policy(1000, 300, 1, 10, false, 0)));
+        UserApiClient client = new UserApiClient(stub.getBaseUrl() + "/api/user/").addInterceptor(policies);
+        try {
+            assertThrows(SocketTimeoutException.class, () -> client.get(2));
+            assertEquals(1, policies.getRetries(), "Timed out GET was not retried");
+        } finally {
+            stub.stop();
+        }
     }
 
     @Test
     public void testGetUserDataIsAuthAsSameUser() {
-        Map<String, String> authData = new HashMap<>();
-        authData.put("email", "vinkotov@example.com");
-        authData.put("password", "1234");
-
-        Response responseGetAuth = RestAssured
-                .given()
-                .body(authData)
-                .post("https://playground.learnqa.ru/api/user/login")
-                .andReturn();
-
-        String header = this.getHeader(responseGetAuth, "x-csrf-token");
-        String cookie = this.getCookie(responseGetAuth, "auth_sid");
-
-        Response responseUserData = RestAssured
-                .given()
-                .header("x-csrf-token", header)
-                .cookie("auth_sid", cookie)
-                .get("https://playground.learnqa.ru/api/user/2")
-                .andReturn();
+        Response responseUserData = SessionPool.getInstance().withSession(
+                "vinkotov@example.com",
+                "1234",
+                session -> userApiClient.get(2, session).getResponse());
 
         System.out.println(responseUserData.asString());
 
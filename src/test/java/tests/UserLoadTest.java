@@ -0,0 +1,72 @@
+package tests;
+
+import io.restassured.response.Response;
+import lib.Assertions;
+import lib.BaseCaseTest;
+import lib.DataGenerator;
+import lib.LoadRunner;
+import lib.SessionPool;
+import lib.UserApiClient;
+import lib.UserData;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@EnabledIfSystemProperty(named = "learnqa.load.rps", matches = "\\d+(\\.\\d+)?")
+public class UserLoadTest extends BaseCaseTest {
+    private final UserApiClient userApiClient = UserApiClient.getInstance();
+
+    @Test
+    public void testUserLifecycleUnderLoad() throws InterruptedException {
+        LoadRunner.Report report = new LoadRunner(
+                Double.parseDouble(System.getProperty("learnqa.load.rps")),
+                Duration.ofSeconds(Long.getLong("learnqa.load.duration", 60)))
+                .scenario("edit", this::editJustCreatedUser)
+                .scenario("delete", this::deleteCurrentUser)
+                .run();
+
+        System.out.println(report);
+        assertTrue(report.isComplete(), "Load run did not finish before the deadline");
+        assertEquals(0, report.getFailures(), "Scenarios failed under load: " + report.getFirstFailures());
+    }
+
+    private void editJustCreatedUser(LoadRunner.Steps steps) {
+        UserData userData = DataGenerator.getUserData();
+        String userId = steps.step("register", () -> userApiClient.register(userData).getId());
+
+        SessionPool.Session session = steps.step("login", () -> userApiClient
+                .login(userData.getEmail(), userData.getPassword())
+                .toSession());
+
+        String newName = "Changed name";
+        Response responseEditName = steps.step("edit", () -> userApiClient
+                .edit(userId, Map.of("firstName", newName), session)
+                .getResponse());
+        Assertions.assertResponseCodeEquals(responseEditName, 200);
+
+        Response responseUserData = steps.step("get", () -> userApiClient.get(userId, session).getResponse());
+        Assertions.asserJsonByName(responseUserData, "firstName", newName);
+    }
+
+    private void deleteCurrentUser(LoadRunner.Steps steps) {
+        UserData userData = DataGenerator.getUserData();
+        String userId = steps.step("register", () -> userApiClient.register(userData).getId());
+
+        SessionPool.Session session = steps.step("login", () -> userApiClient
+                .login(userData.getEmail(), userData.getPassword())
+                .toSession());
+
+        Response responseDeleteUser = steps.step("delete", () -> userApiClient.delete(userId, session).getResponse());
+        Assertions.assertResponseCodeEquals(responseDeleteUser, 200);
+
+        Response responseUserData = steps.step("get", () -> userApiClient.get(userId, session).getResponse());
+        Assertions.assertResponseTextEquals(responseUserData, "User not found");
+    }
+}
@@ -1,16 +1,17 @@
 package tests;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import lib.BaseCaseTest;
 import lib.DataGenerator;
 import lib.Assertions;
+import lib.UserApiClient;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 import java.util.Map;
 
 public class UserRegisterTest extends BaseCaseTest{
+    private final UserApiClient userApiClient = UserApiClient.getInstance();
 
     @Test
     public void testCreateUserWithExistEmail () {
@@ -21,11 +22,7 @@ public class UserRegisterTest extends BaseCaseTest{
         userData = DataGenerator.getGenerationData(userData);
 
 
-        Response responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .andReturn();
+        Response responseCreateAuth = userApiClient.register(userData).getResponse();
 
         System.out.println(responseCreateAuth.asString());
         System.out.println(responseCreateAuth.statusCode());
@@ -42,11 +39,7 @@ public class UserRegisterTest extends BaseCaseTest{
 
         Map<String, String> userData = DataGenerator.getRegistrationData();
 
-        Response responseCreateAuth = RestAssured
-                .given()
-                .body(userData)
-                .post("https://playground.learnqa.ru/api/user/")
-                .andReturn();
+        Response responseCreateAuth = userApiClient.register(userData).getResponse();
 
         System.out.println(responseCreateAuth.asString());
         System.out.println(responseCreateAuth.statusCode());